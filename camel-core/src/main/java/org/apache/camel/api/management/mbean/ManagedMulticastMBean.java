@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedMulticastMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "Whether parallel processing is enabled")
+    boolean isParallelProcessing();
+
+    @ManagedAttribute(description = "Whether parallel aggregation is enabled")
+    boolean isParallelAggregate();
+
+    @ManagedAttribute(description = "Whether streaming is enabled")
+    boolean isStreaming();
+
+    @ManagedAttribute(description = "Maximum number of tasks in flight (0 = no limit)")
+    int getMaxInflightTasks();
+
+    @ManagedAttribute(description = "Current number of tasks in flight")
+    int getInflightTasks();
+
+    @ManagedAttribute(description = "Peak number of tasks in flight")
+    int getPeakInflightTasks();
+
+    @ManagedAttribute(description = "Number of times submitting tasks waited because the maximum number of tasks were in flight")
+    long getInflightWindowFullCount();
+
+    @ManagedOperation(description = "Resets the peak and window full statistics")
+    void resetInflightStatistics();
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedSimpleLanguageMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Whether OGNL method calls are compiled")
+    boolean isCompile();
+
+    @ManagedAttribute(description = "Maximum number of parsed expressions and predicates to cache (each)")
+    int getMaximumCacheSize();
+
+    @ManagedAttribute(description = "Number of parsed expressions and predicates cached")
+    int getSize();
+
+    @ManagedAttribute(description = "Cache hits")
+    long getHits();
+
+    @ManagedAttribute(description = "Cache misses")
+    long getMisses();
+
+    @ManagedAttribute(description = "Cache evicted")
+    long getEvicted();
+
+    @ManagedAttribute(description = "Percentage (0-100) of cache lookups which were hits")
+    double getHitRatio();
+
+    @ManagedOperation(description = "Reset cache statistics")
+    void resetStatistics();
+
+    @ManagedOperation(description = "Purges the cache")
+    void purge();
+
+}
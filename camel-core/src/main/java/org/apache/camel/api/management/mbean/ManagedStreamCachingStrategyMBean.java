@@ -49,6 +49,21 @@ public interface ManagedStreamCachingStrategyMBean {
     @ManagedAttribute(description = "Whether used heap memory limit is committed or maximum")
     StreamCachingStrategy.SpoolUsedHeapMemoryLimit getSpoolUsedHeapMemoryLimit();
 
+    @ManagedAttribute(description = "Budget in bytes of off-heap memory to use before spooling to disk")
+    long getOffHeapMemoryLimit();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory allocated by the pool")
+    long getOffHeapMemoryAllocated();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory currently in use by stream caches")
+    long getOffHeapMemoryUsed();
+
+    @ManagedAttribute(description = "Whether to read stream caches spooled to disk using memory-mapped files")
+    void setSpoolMemoryMapped(boolean memoryMapped);
+
+    @ManagedAttribute(description = "Whether to read stream caches spooled to disk using memory-mapped files")
+    boolean isSpoolMemoryMapped();
+
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     void setBufferSize(int bufferSize);
 
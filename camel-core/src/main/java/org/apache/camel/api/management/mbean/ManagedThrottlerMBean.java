@@ -35,4 +35,7 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Number of exchanges currently throttled")
     int getThrottledCount();
 
+    @ManagedAttribute(description = "Number of correlation keys currently being throttled individually")
+    int getThrottledKeysSize();
+
 }
\ No newline at end of file
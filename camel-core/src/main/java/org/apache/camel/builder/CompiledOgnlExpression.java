@@ -0,0 +1,253 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+import org.apache.camel.model.language.MethodCallExpression;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.KeyValueHolder;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.OgnlHelper;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * A compiled Camel OGNL expression such as <tt>body.address.street</tt> or <tt>body?.items[foo]</tt>,
+ * which invokes the methods directly instead of using the bean component for each method in the path.
+ * <p/>
+ * The OGNL is parsed once, and the {@link Method} to invoke for each part of the path is resolved and cached
+ * per class of the object it is invoked on. Only methods without parameters and map key lookups are compiled.
+ * If a part of the path cannot be compiled for the actual object, such as an overloaded method or a list index,
+ * then the remainder of the path is evaluated using {@link MethodCallExpression} as when not compiled.
+ */
+public final class CompiledOgnlExpression extends ExpressionAdapter {
+
+    private static final String[] EXCLUDED_METHODS = {"getClass", "hashCode", "notify", "notifyAll", "wait"};
+
+    private final Expression root;
+    private final String ognl;
+    private final Step[] steps;
+
+    private CompiledOgnlExpression(Expression root, String ognl, Step[] steps) {
+        this.root = root;
+        this.ognl = ognl;
+        this.steps = steps;
+    }
+
+    /**
+     * Compiles the OGNL expression
+     *
+     * @param root  the expression for the object to start invoking the OGNL on
+     * @param ognl  methods to invoke on the object in a simple OGNL syntax
+     * @return the compiled expression, or <tt>null</tt> if the OGNL expression cannot be compiled
+     */
+    public static CompiledOgnlExpression compile(Expression root, String ognl) {
+        if (!OgnlHelper.isValidOgnlExpression(ognl)) {
+            return null;
+        }
+
+        List<String> methods = OgnlHelper.splitOgnl(ognl);
+        if (methods.isEmpty()) {
+            return null;
+        }
+
+        List<Step> steps = new ArrayList<Step>(methods.size());
+        for (String text : methods) {
+            boolean nullSafe = OgnlHelper.isNullSafeOperator(text);
+            String methodName = OgnlHelper.removeLeadingOperators(text);
+            String key = null;
+            String index = null;
+
+            KeyValueHolder<String, String> holder = OgnlHelper.isOgnlIndex(methodName);
+            if (holder != null) {
+                if (holder.getValue() == null) {
+                    return null;
+                }
+                methodName = holder.getKey();
+                index = "[" + holder.getValue() + "]";
+                key = StringHelper.removeLeadingAndEndingQuotes(holder.getValue().trim());
+            }
+
+            if (methodName != null) {
+                if (methodName.endsWith("()")) {
+                    methodName = methodName.substring(0, methodName.length() - 2);
+                }
+                // methods with parameters or nested functions are not supported
+                if (methodName.length() == 0 || methodName.indexOf('(') != -1 || methodName.indexOf('$') != -1) {
+                    return null;
+                }
+            }
+            if (key != null && key.indexOf('$') != -1) {
+                return null;
+            }
+
+            steps.add(new Step(text, nullSafe, methodName, key, index));
+        }
+        return new CompiledOgnlExpression(root, ognl, steps.toArray(new Step[steps.size()]));
+    }
+
+    public Object evaluate(Exchange exchange) {
+        Object result = root.evaluate(exchange, Object.class);
+        if (result == null) {
+            return null;
+        }
+
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+            if (result == null) {
+                // cannot invoke a method on null which is what the null safe operator is for
+                throw new RuntimeBeanExpressionException(exchange, null, ognl, new NullPointerException());
+            }
+
+            if (step.methodName != null) {
+                Method method = step.getMethod(result.getClass());
+                if (method == null) {
+                    return fallback(exchange, result, i, false);
+                }
+                result = invoke(exchange, method, result);
+            }
+
+            if (step.key != null) {
+                if (result instanceof Map) {
+                    result = ((Map<?, ?>) result).get(step.key);
+                } else if (result != null) {
+                    return fallback(exchange, result, i, true);
+                } else if (!step.nullSafe) {
+                    throw new RuntimeBeanExpressionException(exchange, null, ognl,
+                            new IndexOutOfBoundsException("Key: " + step.key + " not found in bean: null using OGNL path [" + ognl + "]"));
+                }
+            }
+
+            if (result == null && step.nullSafe) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private Object fallback(Exchange exchange, Object bean, int from, boolean indexOnly) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(indexOnly ? steps[from].index : steps[from].text);
+        for (int i = from + 1; i < steps.length; i++) {
+            sb.append(steps[i].text);
+        }
+        return new MethodCallExpression(bean, sb.toString()).evaluate(exchange);
+    }
+
+    private Object invoke(Exchange exchange, Method method, Object bean) {
+        try {
+            return method.invoke(bean);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeBeanExpressionException(exchange, null, ognl, e.getCause());
+        } catch (Exception e) {
+            throw new RuntimeBeanExpressionException(exchange, null, ognl, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "compiledOgnl(" + root + ", " + ognl + ")";
+    }
+
+    /**
+     * A part of the OGNL path which caches the method to invoke for the last seen class.
+     */
+    private static final class Step {
+        private final String text;
+        private final boolean nullSafe;
+        private final String methodName;
+        private final String key;
+        private final String index;
+        private volatile ResolvedMethod resolved;
+
+        private Step(String text, boolean nullSafe, String methodName, String key, String index) {
+            this.text = text;
+            this.nullSafe = nullSafe;
+            this.methodName = methodName;
+            this.key = key;
+            this.index = index;
+        }
+
+        Method getMethod(Class<?> type) {
+            ResolvedMethod answer = resolved;
+            if (answer == null || answer.type != type) {
+                answer = new ResolvedMethod(type, resolveMethod(type, methodName));
+                resolved = answer;
+            }
+            return answer.method;
+        }
+    }
+
+    private static final class ResolvedMethod {
+        private final Class<?> type;
+        private final Method method;
+
+        private ResolvedMethod(Class<?> type, Method method) {
+            this.type = type;
+            this.method = method;
+        }
+    }
+
+    /**
+     * Resolves the method the same way as the bean component, being the only method with the given name,
+     * or the getter with the given shorthand name.
+     *
+     * @return the method, or <tt>null</tt> if the method cannot be invoked directly
+     */
+    static Method resolveMethod(Class<?> type, String name) {
+        if (!Modifier.isPublic(type.getModifiers()) || Proxy.isProxyClass(type) || type.getName().contains("$$")) {
+            return null;
+        }
+
+        Method answer = null;
+        int count = 0;
+        for (Method method : type.getMethods()) {
+            if (!method.isBridge() && name.equals(method.getName())) {
+                answer = method;
+                count++;
+            }
+        }
+        if (count == 0) {
+            for (Method method : type.getMethods()) {
+                if (!method.isBridge() && IntrospectionSupport.isGetter(method)
+                        && name.equals(IntrospectionSupport.getGetterShorthandName(method))) {
+                    answer = method;
+                    count++;
+                }
+            }
+        }
+
+        if (count != 1 || answer.getParameterTypes().length != 0 || Modifier.isStatic(answer.getModifiers())
+                || !Modifier.isPublic(answer.getDeclaringClass().getModifiers())
+                || Exchange.class.isAssignableFrom(answer.getReturnType())
+                || ObjectHelper.isEqualToAny(answer.getName(), (Object[]) EXCLUDED_METHODS)) {
+            return null;
+        }
+        return answer;
+    }
+
+}
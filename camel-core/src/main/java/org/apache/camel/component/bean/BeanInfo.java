@@ -29,6 +29,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.camel.Attachments;
 import org.apache.camel.Body;
@@ -61,6 +63,7 @@ public class BeanInfo {
     private static final Logger LOG = LoggerFactory.getLogger(BeanInfo.class);
     private static final String CGLIB_CLASS_SEPARATOR = "$$";
     private static final List<Method> EXCLUDED_METHODS = new ArrayList<Method>();
+    private static final int CHOSEN_METHODS_CACHE_SIZE = 1000;
     private final CamelContext camelContext;
     private final BeanComponent component;
     private final Class<?> type;
@@ -73,6 +76,8 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithCustomAnnotation = new ArrayList<MethodInfo>();
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<MethodInfo>();
     private Map<Method, MethodInfo> methodMap = new HashMap<Method, MethodInfo>();
+    // the methods chosen at runtime for the kind of message, so we do not have to choose again for the next message
+    private ConcurrentMap<ChosenMethodCacheKey, MethodInfo> chosenMethods = new ConcurrentHashMap<ChosenMethodCacheKey, MethodInfo>();
 
     static {
         // exclude all java.lang.Object methods as we dont want to invoke them
@@ -119,6 +124,7 @@ public class BeanInfo {
             operationsWithCustomAnnotation = beanInfo.operationsWithCustomAnnotation;
             operationsWithHandlerAnnotation = beanInfo.operationsWithHandlerAnnotation;
             methodMap = beanInfo.methodMap;
+            chosenMethods = beanInfo.chosenMethods;
             return;
         }
 
@@ -246,7 +252,7 @@ public class BeanInfo {
 
                     // but first let's try to choose a method and see if that complies with the name
                     // must use the method name which may have qualifiers
-                    methodInfo = chooseMethod(pojo, exchange, methodName);
+                    methodInfo = chooseCachedMethod(pojo, exchange, methodName);
 
                     // validate that if we want an explicit no-arg method, then that's what we get
                     if (emptyParameters) {
@@ -268,7 +274,7 @@ public class BeanInfo {
 
         if (methodInfo == null) {
             // no name or type
-            methodInfo = chooseMethod(pojo, exchange, null);
+            methodInfo = chooseCachedMethod(pojo, exchange, null);
         }
         if (methodInfo == null) {
             methodInfo = defaultMethod;
@@ -282,6 +288,30 @@ public class BeanInfo {
         return null;
     }
 
+    /**
+     * Chooses the method to invoke using {@link #chooseMethod(Object, Exchange, String)}, which is cached per
+     * type of message body, so the method only has to be chosen once for the same kind of messages.
+     */
+    private MethodInfo chooseCachedMethod(Object pojo, Exchange exchange, String name) throws AmbiguousMethodCallException {
+        Object body = exchange.getIn().getBody();
+        boolean exception = exchange.getException() != null || exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null;
+        ChosenMethodCacheKey key = new ChosenMethodCacheKey(name, body != null ? body.getClass() : null, exchange.getPattern().isOutCapable(), exception);
+
+        MethodInfo answer = chosenMethods.get(key);
+        if (answer != null) {
+            LOG.trace("Using cached chosen method: {}", answer);
+            return answer;
+        }
+
+        answer = chooseMethod(pojo, exchange, name);
+        // if the body was converted to choose the method, then the choice depends on the body value,
+        // and the message must be converted each time, so the method is only cached if the body is the same
+        if (answer != null && body == exchange.getIn().getBody() && chosenMethods.size() < CHOSEN_METHODS_CACHE_SIZE) {
+            chosenMethods.putIfAbsent(key, answer);
+        }
+        return answer;
+    }
+
     /**
      * Introspects the given class
      *
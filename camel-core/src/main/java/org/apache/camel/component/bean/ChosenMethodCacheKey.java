@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+/**
+ * A key used for caching the {@link MethodInfo} chosen by {@link BeanInfo} for a given message.
+ */
+public final class ChosenMethodCacheKey {
+
+    private final String name;
+    private final Class<?> bodyType;
+    private final boolean outCapable;
+    private final boolean exception;
+
+    public ChosenMethodCacheKey(String name, Class<?> bodyType, boolean outCapable, boolean exception) {
+        this.name = name;
+        this.bodyType = bodyType;
+        this.outCapable = outCapable;
+        this.exception = exception;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ChosenMethodCacheKey that = (ChosenMethodCacheKey) o;
+
+        if (outCapable != that.outCapable || exception != that.exception) {
+            return false;
+        }
+        if (bodyType != that.bodyType) {
+            return false;
+        }
+        if (name != null ? !name.equals(that.name) : that.name != null) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name != null ? name.hashCode() : 0;
+        result = 31 * result + (bodyType != null ? bodyType.hashCode() : 0);
+        result = 31 * result + (outCapable ? 1 : 0);
+        result = 31 * result + (exception ? 1 : 0);
+        return result;
+    }
+}
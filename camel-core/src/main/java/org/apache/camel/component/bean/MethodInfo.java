@@ -62,6 +62,7 @@ import static org.apache.camel.util.ObjectHelper.asString;
  */
 public class MethodInfo {
     private static final Logger LOG = LoggerFactory.getLogger(MethodInfo.class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
 
     private CamelContext camelContext;
     private Class<?> type;
@@ -114,6 +115,16 @@ public class MethodInfo {
         this.hasCustomAnnotation = hasCustomAnnotation;
         this.hasHandlerAnnotation = hasHandlerAnnotation;
         this.parametersExpression = createParametersExpression();
+
+        // the method is invoked for every message, so skip the access checks on each invocation
+        if (!method.isAccessible()) {
+            try {
+                method.setAccessible(true);
+            } catch (RuntimeException e) {
+                // such as a security manager not allowing it, then the method is invoked with access checks
+                LOG.trace("Cannot suppress access checks for method: {} due to: {}", method, e.getMessage());
+            }
+        }
         
         Map<Class<?>, Annotation> collectedMethodAnnotation = collectMethodAnnotations(type, method);
 
@@ -425,6 +436,13 @@ public class MethodInfo {
         return new Expression() {
             @SuppressWarnings("unchecked")
             public <T> T evaluate(Exchange exchange, Class<T> type) {
+                if (size == 0) {
+                    // no parameters so there is no need to evaluate anything or create a new array
+                    exchange.getIn().removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+                    exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
+                    return (T) NO_ARGUMENTS;
+                }
+
                 Object[] answer = new Object[size];
                 Object body = exchange.getIn().getBody();
                 boolean multiParameterArray = false;
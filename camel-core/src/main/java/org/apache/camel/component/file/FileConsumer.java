@@ -17,8 +17,18 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.camel.Processor;
 import org.apache.camel.util.FileUtil;
@@ -26,10 +36,30 @@ import org.apache.camel.util.ObjectHelper;
 
 /**
  * File consumer.
+ * <p/>
+ * When {@link FileEndpoint#isIncrementalScan()} is enabled the consumer keeps state about the directories it has
+ * listed, and skips listing a directory again as long as its last modified timestamp is unchanged and the previous
+ * listing did not yield any files to consume. Sub directories of a skipped directory are still polled, as changes
+ * in a sub directory does not update the timestamp of its parent. A full scan is done periodically to pickup
+ * changes which do not update the timestamp of the directory, such as files being updated in place.
+ * <p/>
+ * When {@link FileEndpoint#getScanThreads()} is configured, and the consumer is recursive, the sub directories are
+ * listed in parallel by a thread pool. The files are still filtered and gathered by the polling thread, in the same
+ * order as when scanning sequentially, as the listings are handed over as they complete.
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    /**
+     * Directories modified more recently than this (in millis) when listed are not trusted as unchanged,
+     * as some file systems have a coarse timestamp resolution (eg FAT uses 2 seconds).
+     */
+    private static final long TIMESTAMP_RESOLUTION = 2000;
+
     private String endpointPath;
+    private final Map<String, DirectoryState> directoryStates = new HashMap<String, DirectoryState>();
+    private long lastFullScan;
+    private final Map<String, Future<DirectoryListing>> prefetched = new HashMap<String, Future<DirectoryListing>>();
+    private ExecutorService scanExecutor;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -38,55 +68,126 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        if (depth > 0) {
+            return doPollDirectory(fileName, fileList, depth);
+        }
+
+        if (getEndpoint().isIncrementalScan()) {
+            long now = System.currentTimeMillis();
+            if (lastFullScan == 0 || now - lastFullScan >= getEndpoint().getFullScanInterval()) {
+                log.debug("Doing a full scan of directory: {}", fileName);
+                directoryStates.clear();
+                lastFullScan = now;
+            }
+        }
+
+        try {
+            return doPollDirectory(fileName, fileList, depth);
+        } finally {
+            // cancel listings of sub directories we did not get to, such as when hitting maxMessagesPerPoll
+            for (Future<DirectoryListing> future : prefetched.values()) {
+                future.cancel(true);
+            }
+            prefetched.clear();
+        }
+    }
+
+    protected boolean doPollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
 
         File directory = new File(fileName);
-        if (!directory.exists() || !directory.isDirectory()) {
-            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
-            if (getEndpoint().isDirectoryMustExist()) {
-                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+        DirectoryListing listing = takePrefetched(fileName);
+        if (listing == null) {
+            if (!directory.exists() || !directory.isDirectory()) {
+                log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+                if (getEndpoint().isDirectoryMustExist()) {
+                    throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+                }
+                return true;
             }
-            return true;
+
+            if (getEndpoint().isIncrementalScan() && isUnchanged(fileName, directory.lastModified())) {
+                log.trace("Skipping listing as directory is unchanged: {}", directory.getPath());
+                List<String> subDirectories = directoryStates.get(fileName).subDirectories;
+                if (scanExecutor != null) {
+                    for (String subDirectory : subDirectories) {
+                        prefetch(subDirectory);
+                    }
+                }
+                for (String subDirectory : subDirectories) {
+                    if (!canPollMoreFiles(fileList) || !doPollDirectory(subDirectory, fileList, depth)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            log.trace("Polling directory: {}", directory.getPath());
+            listing = listDirectory(directory);
         }
 
-        log.trace("Polling directory: {}", directory.getPath());
-        File[] dirFiles = directory.listFiles();
-        if (dirFiles == null || dirFiles.length == 0) {
+        DirectoryState state = null;
+        if (getEndpoint().isIncrementalScan()) {
+            state = new DirectoryState(listing.lastModified, listing.listed);
+            directoryStates.remove(fileName);
+        }
+
+        if (listing.files.isEmpty()) {
             // no files in this directory to poll
             if (log.isTraceEnabled()) {
                 log.trace("No files found in directory: {}", directory.getPath());
             }
+            if (state != null) {
+                directoryStates.put(fileName, state);
+            }
             return true;
         } else {
             // we found some files
             if (log.isTraceEnabled()) {
-                log.trace("Found {} in directory: {}", dirFiles.length, directory.getPath());
+                log.trace("Found {} in directory: {}", listing.files.size(), directory.getPath());
             }
         }
-        List<File> files = Arrays.asList(dirFiles);
+        List<File> files = listing.files;
 
-        for (File file : files) {
+        // when scanning in parallel then start listing the sub directories up front,
+        // and remember which sub directories are valid to avoid checking them twice
+        Set<String> validSubDirectories = null;
+        if (scanExecutor != null && endpoint.isRecursive() && depth < endpoint.getMaxDepth()) {
+            validSubDirectories = new HashSet<String>();
+            for (GenericFile<File> gf : listing.genericFiles) {
+                if (gf.isDirectory() && isValidFile(gf, true, files)) {
+                    String subDirectory = fileName + File.separator + gf.getFileNameOnly();
+                    validSubDirectories.add(subDirectory);
+                    prefetch(subDirectory);
+                }
+            }
+        }
+
+        for (GenericFile<File> gf : listing.genericFiles) {
             // check if we can continue polling in files
             if (!canPollMoreFiles(fileList)) {
                 return false;
             }
 
+            File file = gf.getFile();
             // trace log as Windows/Unix can have different views what the file is?
             if (log.isTraceEnabled()) {
                 log.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]",
                         new Object[]{file, file.isAbsolute(), file.isDirectory(), file.isFile(), file.isHidden()});
             }
 
-            // creates a generic file
-            GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
-
-            if (file.isDirectory()) {
-                if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
+            if (gf.isDirectory()) {
+                String subDirectory = fileName + File.separator + file.getName();
+                boolean valid = validSubDirectories != null ? validSubDirectories.contains(subDirectory)
+                        : endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files);
+                if (valid) {
                     // recursive scan and add the sub files and folders
-                    String subDirectory = fileName + File.separator + file.getName();
-                    boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
+                    if (state != null) {
+                        state.subDirectories.add(subDirectory);
+                    }
+                    boolean canPollMore = doPollDirectory(subDirectory, fileList, depth);
                     if (!canPollMore) {
                         return false;
                     }
@@ -97,14 +198,81 @@ public class FileConsumer extends GenericFileConsumer<File> {
                     log.trace("Adding valid file: {}", file);
                     // matched file so add
                     fileList.add(gf);
+                    if (state != null) {
+                        // list the directory again on next poll, as the file may be rolled back
+                        state.pending = true;
+                    }
+                } else if (state != null && endpoint.getInProgressRepository().contains(gf.getAbsoluteFilePath())) {
+                    // the file is being processed and may be rolled back
+                    state.pending = true;
                 }
 
             }
         }
 
+        if (state != null) {
+            directoryStates.put(fileName, state);
+        }
+
         return true;
     }
 
+    private boolean isUnchanged(String fileName, long lastModified) {
+        DirectoryState state = directoryStates.get(fileName);
+        return state != null && state.isUnchanged(lastModified);
+    }
+
+    /**
+     * Lists the directory, and reads the attributes of the files, so it can be done by the scanner threads.
+     */
+    private DirectoryListing listDirectory(File directory) {
+        // must take the timestamps before listing the directory
+        long lastModified = directory.lastModified();
+        long listed = System.currentTimeMillis();
+
+        File[] dirFiles = directory.listFiles();
+        if (dirFiles == null || dirFiles.length == 0) {
+            return new DirectoryListing(lastModified, listed, Collections.<File>emptyList(), Collections.<GenericFile<File>>emptyList());
+        }
+
+        List<GenericFile<File>> genericFiles = new ArrayList<GenericFile<File>>(dirFiles.length);
+        for (File file : dirFiles) {
+            genericFiles.add(asGenericFile(endpointPath, file, getEndpoint().getCharset()));
+        }
+        return new DirectoryListing(lastModified, listed, Arrays.asList(dirFiles), genericFiles);
+    }
+
+    private void prefetch(final String subDirectory) {
+        final File directory = new File(subDirectory);
+        if (getEndpoint().isIncrementalScan() && isUnchanged(subDirectory, directory.lastModified())) {
+            // no need to list as we will skip it
+            return;
+        }
+
+        Future<DirectoryListing> future = scanExecutor.submit(new Callable<DirectoryListing>() {
+            public DirectoryListing call() throws Exception {
+                log.trace("Polling directory: {}", subDirectory);
+                return listDirectory(directory);
+            }
+        });
+        prefetched.put(subDirectory, future);
+    }
+
+    private DirectoryListing takePrefetched(String fileName) {
+        Future<DirectoryListing> future = prefetched.remove(fileName);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericFileOperationFailedException("Interrupted while listing directory: " + fileName, e);
+        } catch (ExecutionException e) {
+            throw new GenericFileOperationFailedException("Cannot list directory: " + fileName, e.getCause());
+        }
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
         String onlyName = FileUtil.stripPath(doneFileName);
@@ -173,4 +341,66 @@ public class FileConsumer extends GenericFileConsumer<File> {
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isRecursive() && getEndpoint().getScanThreads() > 1 && scanExecutor == null) {
+            scanExecutor = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newFixedThreadPool(this, "FileScanner", getEndpoint().getScanThreads());
+        }
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        directoryStates.clear();
+        lastFullScan = 0;
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        super.doShutdown();
+        if (scanExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(scanExecutor);
+            scanExecutor = null;
+        }
+    }
+
+    /**
+     * State of a directory from the last time it was listed.
+     */
+    private static final class DirectoryState {
+        private final long lastModified;
+        private final long listed;
+        private final List<String> subDirectories = new ArrayList<String>();
+        private boolean pending;
+
+        private DirectoryState(long lastModified, long listed) {
+            this.lastModified = lastModified;
+            this.listed = listed;
+        }
+
+        boolean isUnchanged(long currentLastModified) {
+            return !pending && lastModified != 0 && lastModified == currentLastModified
+                    && listed - lastModified >= TIMESTAMP_RESOLUTION;
+        }
+    }
+
+    /**
+     * The files of a directory, with their attributes read.
+     */
+    private static final class DirectoryListing {
+        private final long lastModified;
+        private final long listed;
+        private final List<File> files;
+        private final List<GenericFile<File>> genericFiles;
+
+        private DirectoryListing(long lastModified, long listed, List<File> files, List<GenericFile<File>> genericFiles) {
+            this.lastModified = lastModified;
+            this.listed = listed;
+            this.files = files;
+            this.genericFiles = genericFiles;
+        }
+    }
 }
@@ -44,6 +44,12 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean renameUsingCopy;
     @UriParam
     private boolean forceWrites = true;
+    @UriParam
+    private boolean incrementalScan;
+    @UriParam
+    private long fullScanInterval = 60000;
+    @UriParam
+    private int scanThreads;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -191,4 +197,45 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setForceWrites(boolean forceWrites) {
         this.forceWrites = forceWrites;
     }
+
+    public boolean isIncrementalScan() {
+        return incrementalScan;
+    }
+
+    /**
+     * Whether the consumer should skip listing directories which are unchanged since the last poll.
+     * <p/>
+     * This reduces the cost of polling large directories, where most of the files are left in the directory
+     * (eg when using noop or filters). As changes to a file does not update the last modified timestamp of
+     * its directory, such changes are only detected by the periodic full scan, see {@link #setFullScanInterval(long)}.
+     */
+    public void setIncrementalScan(boolean incrementalScan) {
+        this.incrementalScan = incrementalScan;
+    }
+
+    public long getFullScanInterval() {
+        return fullScanInterval;
+    }
+
+    /**
+     * Interval in millis for doing a full scan of all directories when using incremental scan.
+     * <p/>
+     * Is default 60000 millis.
+     */
+    public void setFullScanInterval(long fullScanInterval) {
+        this.fullScanInterval = fullScanInterval;
+    }
+
+    public int getScanThreads() {
+        return scanThreads;
+    }
+
+    /**
+     * Number of threads to use for listing sub directories in parallel when the consumer is recursive.
+     * <p/>
+     * Is default 0, which lists the directories sequentially by the polling thread.
+     */
+    public void setScanThreads(int scanThreads) {
+        this.scanThreads = scanThreads;
+    }
 }
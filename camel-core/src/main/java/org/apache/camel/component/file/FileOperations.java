@@ -34,6 +34,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.WrappedFile;
 import org.apache.camel.converter.IOConverter;
+import org.apache.camel.converter.stream.FileInputStreamCache;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -220,6 +221,9 @@ public class FileOperations implements GenericFileOperations<File> {
                 if (body instanceof WrappedFile) {
                     body = ((WrappedFile<?>) body).getFile();
                     fileBased = true;
+                } else if (body instanceof FileInputStreamCache) {
+                    // the stream is cached in a file which we can copy directly
+                    body = ((FileInputStreamCache) body).getFile();
                 }
                 if (body instanceof File) {
                     source = (File) body;
@@ -251,6 +255,11 @@ public class FileOperations implements GenericFileOperations<File> {
                     keepLastModified(exchange, file);
                     return true;
                 }
+            } else if (source != null && source.exists()) {
+                // the body is a plain file so use file to file copy
+                writeFileByFile(source, file);
+                keepLastModified(exchange, file);
+                return true;
             }
 
             if (charset != null) {
@@ -362,7 +371,12 @@ public class FileOperations implements GenericFileOperations<File> {
             long size = in.size();
             long position = 0;
             while (position < size) {
-                position += in.transferTo(position, endpoint.getBufferSize(), out);
+                long transferred = in.transferTo(position, endpoint.getBufferSize(), out);
+                if (transferred <= 0) {
+                    // the source file was truncated while copying
+                    break;
+                }
+                position += transferred;
             }
         } finally {
             IOHelper.close(in, source.getName(), LOG);
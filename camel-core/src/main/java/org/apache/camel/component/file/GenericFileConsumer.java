@@ -359,7 +359,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
                 boolean retrieved;
                 Exception cause = null;
                 try {
-                    retrieved = operations.retrieveFile(name, exchange);
+                    retrieved = retrieveFile(name, exchange);
                 } catch (Exception e) {
                     retrieved = false;
                     cause = e;
@@ -421,6 +421,20 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         return true;
     }
 
+    /**
+     * Retrieves the file using the operations.
+     * <p/>
+     * Override if the file should be retrieved by other means, such as the file has already been retrieved ahead.
+     *
+     * @param name     the absolute name of the file to retrieve
+     * @param exchange the exchange
+     * @return <tt>true</tt> if the file was retrieved, <tt>false</tt> otherwise
+     * @throws Exception can be thrown in case of errors
+     */
+    protected boolean retrieveFile(String name, Exchange exchange) throws Exception {
+        return operations.retrieveFile(name, exchange);
+    }
+
     /**
      * Override if required.  Files are retrieved / returns true by default
      *
@@ -31,6 +31,7 @@ import org.apache.camel.LoggingLevel;
  * <li>FileLockExclusiveReadLockStrategy acquiring a RW file lock for the duration of the processing.</li>
  * <li>MarkerFileExclusiveReadLockStrategy using a marker file for acquiring read lock.</li>
  * <li>FileChangedExclusiveReadLockStrategy using a file changed detection for acquiring read lock.</li>
+ * <li>FileIdleExclusiveReadLockStrategy using file changed detection across polls for acquiring read lock.</li>
  * </ul>
  */
 public interface GenericFileExclusiveReadLockStrategy<T> {
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.strategy;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.component.file.GenericFile;
+import org.apache.camel.component.file.GenericFileOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Acquires exclusive read lock to the given file by checking whether the file has been idle,
+ * that is not changed for at least the check interval.
+ * <p/>
+ * Unlike {@link FileChangedExclusiveReadLockStrategy} this strategy does not wait for the file to become idle.
+ * Instead the length and last modified timestamp of the file is remembered between polls, and the read lock
+ * is only granted when the file has been seen unchanged for at least the check interval. Files which are still
+ * being changed are skipped and tried on the next poll, so slow writes does not block consuming other files.
+ */
+public class FileIdleExclusiveReadLockStrategy extends MarkerFileExclusiveReadLockStrategy {
+    private static final Logger LOG = LoggerFactory.getLogger(FileIdleExclusiveReadLockStrategy.class);
+    private final Map<String, FileState> states = new ConcurrentHashMap<String, FileState>();
+    private volatile long lastPurge;
+    private long checkInterval = 1000;
+    private long minLength = 1;
+
+    @Override
+    public boolean acquireExclusiveReadLock(GenericFileOperations<File> operations, GenericFile<File> file, Exchange exchange) throws Exception {
+        String path = file.getAbsoluteFilePath();
+        File target = new File(path);
+        long now = System.currentTimeMillis();
+        long lastModified = target.lastModified();
+        long length = target.length();
+
+        purgeStates(now);
+
+        FileState state = states.get(path);
+        if (state == null || state.lastModified != lastModified || state.length != length) {
+            LOG.trace("File: {} with last modified: {} and length: {} is changed, will check again on next poll", new Object[]{file, lastModified, length});
+            states.put(path, new FileState(lastModified, length, now));
+            return false;
+        }
+
+        if (length < minLength || now - state.since < checkInterval) {
+            LOG.trace("File: {} has not been idle for {} millis, will check again on next poll", file, checkInterval);
+            return false;
+        }
+
+        // must call super
+        if (!super.acquireExclusiveReadLock(operations, file, exchange)) {
+            return false;
+        }
+
+        LOG.trace("Read lock acquired.");
+        states.remove(path);
+        return true;
+    }
+
+    /**
+     * Removes the states of files which no longer exists, such as files deleted by others.
+     */
+    private void purgeStates(long now) {
+        if (now - lastPurge < checkInterval) {
+            return;
+        }
+        lastPurge = now;
+
+        Iterator<String> it = states.keySet().iterator();
+        while (it.hasNext()) {
+            String path = it.next();
+            if (!new File(path).exists()) {
+                LOG.trace("Removing state of file: {} as it no longer exists", path);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Number of files which is being tracked as not yet idle.
+     */
+    public int getTrackedFilesSize() {
+        return states.size();
+    }
+
+    public long getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Sets the period in millis the file must be unchanged before the read lock is granted.
+     */
+    @Override
+    public void setCheckInterval(long checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public long getMinLength() {
+        return minLength;
+    }
+
+    public void setMinLength(long minLength) {
+        this.minLength = minLength;
+    }
+
+    private static final class FileState {
+        private final long lastModified;
+        private final long length;
+        private final long since;
+
+        private FileState(long lastModified, long length, long since) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.since = since;
+        }
+    }
+}
@@ -123,6 +123,13 @@ public final class FileProcessStrategyFactory {
                     readLockStrategy.setMinLength(minLength);
                 }
                 strategy = readLockStrategy;
+            } else if ("idle".equals(readLock)) {
+                FileIdleExclusiveReadLockStrategy readLockStrategy = new FileIdleExclusiveReadLockStrategy();
+                Long minLength = (Long) params.get("readLockMinLength");
+                if (minLength != null) {
+                    readLockStrategy.setMinLength(minLength);
+                }
+                strategy = readLockStrategy;
             }
 
             if (strategy != null) {
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -31,12 +34,14 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.SuspendableService;
+import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.LoggingExceptionHandler;
 import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -49,6 +54,14 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * In this implementation there is a little <i>slack period</i> when you suspend/stop the consumer, by which
  * the consumer may pickup a newly arrived messages and process it. That period is up till 1 second.
+ * <p/>
+ * When the endpoint is event driven the consumer threads wait on the queue until an exchange is available,
+ * and are woken up when the consumer is suspended, resumed or is shutting down, so idle consumers do not wake
+ * up to poll the queue.
+ * <p/>
+ * When <tt>maxMessagesPerPoll</tt> is configured the consumer drains up to that number of exchanges from
+ * the queue at once, which are either processed one by one with the batch properties set (as with
+ * {@link org.apache.camel.BatchConsumer}), or grouped together as a single exchange.
  *
  * @version 
  */
@@ -64,11 +77,19 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private final boolean eventDriven;
+    private final int maxMessagesPerPoll;
+    private final boolean groupExchanges;
+    // the consumer threads waiting for exchanges on the queue when event driven, also used as lock
+    private final Set<Thread> waitingThreads = new HashSet<Thread>();
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.eventDriven = endpoint.isEventDriven();
+        this.maxMessagesPerPoll = endpoint.getMaxMessagesPerPoll();
+        this.groupExchanges = endpoint.isGroupExchanges();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -113,6 +134,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         // signal we want to shutdown
         shutdownPending = true;
         forceShutdown = forced;
+        wakeUp();
 
         if (latch != null) {
             LOG.debug("Preparing to shutdown, waiting for {} consumer threads to complete.", latch.getCount());
@@ -173,6 +195,10 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
                     LOG.trace("Consumer is suspended and shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
                     break;
+                } else if (eventDriven && !shutdownPending) {
+                    LOG.trace("Consumer is suspended so waiting until resumed");
+                    awaitResume();
+                    continue;
                 } else {
                     LOG.trace("Consumer is suspended so skip polling");
                     try {
@@ -187,31 +213,31 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
             Exchange exchange = null;
             try {
-                // use the end user configured poll timeout
-                exchange = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+                if (eventDriven) {
+                    exchange = take(queue);
+                } else {
+                    // use the end user configured poll timeout
+                    exchange = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+                }
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Polled queue {} with timeout {} ms. -> {}", new Object[]{ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange});
                 }
-                if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
+                if (exchange != null && maxMessagesPerPoll > 1) {
+                    // drain the queue for more exchanges to process as a batch
+                    List<Exchange> exchanges = new ArrayList<Exchange>(maxMessagesPerPoll);
+                    exchanges.add(exchange);
+                    queue.drainTo(exchanges, maxMessagesPerPoll - 1);
+                    LOG.trace("Drained {} exchanges from queue {}", exchanges.size(), ObjectHelper.getIdentityHashCode(queue));
+                    if (groupExchanges) {
+                        processGroupedExchanges(exchanges);
+                    } else {
+                        int size = exchanges.size();
+                        for (int i = 0; i < size; i++) {
+                            processExchange(exchanges.get(i), i, size);
                         }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
-                        }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
                     }
+                } else if (exchange != null) {
+                    processExchange(exchange, -1, -1);
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
                     // we want to shutdown so break out if there queue is empty
@@ -233,6 +259,150 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         LOG.debug("Ending this polling consumer thread, there are still {} consumer threads left.", latch.getCount());
     }
 
+    /**
+     * Takes an exchange from the queue, waiting until an exchange is available, or the waiting
+     * is interrupted by {@link #wakeUp()}.
+     *
+     * @param queue the queue
+     * @return the exchange, or <tt>null</tt> if no exchange was available
+     * @throws InterruptedException is thrown if the waiting was interrupted
+     */
+    private Exchange take(BlockingQueue<Exchange> queue) throws InterruptedException {
+        Thread thread = Thread.currentThread();
+        synchronized (waitingThreads) {
+            // check while holding the lock, as we are only woken up if we are waiting
+            if (shutdownPending || isSuspending() || isSuspended() || !isRunAllowed()) {
+                return queue.poll();
+            }
+            waitingThreads.add(thread);
+        }
+        try {
+            return queue.take();
+        } finally {
+            synchronized (waitingThreads) {
+                waitingThreads.remove(thread);
+                // clear any wake up interrupt which happened after we got an exchange
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Waits until the consumer is resumed, or is shutting down.
+     */
+    private void awaitResume() {
+        synchronized (waitingThreads) {
+            while ((isSuspending() || isSuspended()) && !shutdownPending && isRunAllowed()) {
+                try {
+                    waitingThreads.wait();
+                } catch (InterruptedException e) {
+                    LOG.debug("Wait interrupted, are we stopping? {}", isStopping() || isStopped());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Wakes up the consumer threads which are waiting for exchanges or to be resumed,
+     * so they can react upon the consumer being suspended, resumed or shutting down.
+     */
+    private void wakeUp() {
+        if (!eventDriven) {
+            return;
+        }
+        synchronized (waitingThreads) {
+            for (Thread thread : waitingThreads) {
+                thread.interrupt();
+            }
+            waitingThreads.notifyAll();
+        }
+    }
+
+    /**
+     * Processes the exchange taken from the queue
+     *
+     * @param exchange the exchange
+     * @param index    the index of the exchange in the batch, or <tt>-1</tt> if not drained as a batch
+     * @param size     the size of the batch, or <tt>-1</tt> if not drained as a batch
+     */
+    private void processExchange(Exchange exchange, int index, int size) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            if (size > 0) {
+                // add current index and total as properties as with batch consumers
+                newExchange.setProperty(Exchange.BATCH_INDEX, index);
+                newExchange.setProperty(Exchange.BATCH_SIZE, size);
+                newExchange.setProperty(Exchange.BATCH_COMPLETE, index == size - 1);
+            }
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    /**
+     * Processes the exchanges drained from the queue grouped together as a single exchange,
+     * which has the exchanges as a {@link List} in the message body.
+     *
+     * @param exchanges the exchanges
+     */
+    private void processGroupedExchanges(final List<Exchange> exchanges) {
+        final List<Exchange> copies = new ArrayList<Exchange>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            copies.add(prepareExchange(exchange));
+        }
+
+        Exchange grouped = new DefaultExchange(endpoint);
+        grouped.getIn().setBody(copies);
+        grouped.setProperty(Exchange.GROUPED_EXCHANGE, copies);
+        grouped.setProperty(Exchange.BATCH_SIZE, copies.size());
+
+        // the grouped exchanges are not routed, so we must done their on completions (such as from waiting
+        // producers) when the grouped exchange is done
+        grouped.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                for (int i = 0; i < copies.size(); i++) {
+                    Exchange copy = copies.get(i);
+                    if (exchange.getException() != null) {
+                        copy.setException(exchange.getException());
+                        exchanges.get(i).setException(exchange.getException());
+                    }
+                    UnitOfWorkHelper.doneSynchronizations(copy, copy.handoverCompletions(), LOG);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "onDone grouped exchanges at endpoint: " + endpoint;
+            }
+        });
+
+        try {
+            sendToConsumers(grouped);
+            // log exception if an exception occurred and was not handled
+            if (grouped.getException() != null) {
+                getExceptionHandler().handleException("Error processing grouped exchange", grouped, grouped.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing grouped exchange", grouped, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -305,6 +475,20 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         endpoint.onStarted(this);
     }
 
+    @Override
+    public void suspend() throws Exception {
+        super.suspend();
+        // wake up after we are suspended, so the waiting threads can see we are suspended
+        wakeUp();
+    }
+
+    @Override
+    public void resume() throws Exception {
+        super.resume();
+        // wake up after we are resumed, so the threads waiting to be resumed can see we are resumed
+        wakeUp();
+    }
+
     @Override
     protected void doSuspend() throws Exception {
         endpoint.onStopped(this);
@@ -322,7 +506,8 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         }
 
         endpoint.onStopped(this);
-        
+
+        wakeUp();
         shutdownExecutor();
     }
 
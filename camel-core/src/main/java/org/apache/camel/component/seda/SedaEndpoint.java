@@ -78,6 +78,12 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
     @UriParam
     private int pollTimeout = 1000;
     @UriParam
+    private boolean eventDriven;
+    @UriParam
+    private int maxMessagesPerPoll;
+    @UriParam
+    private boolean groupExchanges;
+    @UriParam
     private boolean purgeWhenStopping;
 
     @UriParam
@@ -307,6 +313,48 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+
+    /**
+     * Whether the consumer threads should wait for exchanges on the queue until signalled,
+     * instead of polling the queue using the poll timeout. This means idle consumers do not wake up
+     * until there is an exchange to process, or the consumer is suspended or stopped.
+     */
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+
+    @ManagedAttribute
+    public int getMaxMessagesPerPoll() {
+        return maxMessagesPerPoll;
+    }
+
+    /**
+     * Sets the maximum number of exchanges the consumer drains from the queue at once and processes as a batch.
+     * <p/>
+     * The default value is <tt>0</tt> which means the consumer takes one exchange at a time.
+     */
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    @ManagedAttribute
+    public boolean isGroupExchanges() {
+        return groupExchanges;
+    }
+
+    /**
+     * Whether the exchanges drained from the queue (see {@link #setMaxMessagesPerPoll(int)}) should be grouped
+     * together as a single exchange with the exchanges as a {@link List} in the message body,
+     * instead of processing the exchanges one by one.
+     */
+    public void setGroupExchanges(boolean groupExchanges) {
+        this.groupExchanges = groupExchanges;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
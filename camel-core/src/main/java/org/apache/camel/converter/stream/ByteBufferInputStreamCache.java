@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for caching using direct (off-heap) {@link ByteBuffer} chunks.
+ * <p/>
+ * Pooled chunks from a {@link CachedByteBufferOutputStream} are in use until the output stream is closed,
+ * which then detaches this stream cache by copying the content to heap memory if this stream cache is still reachable.
+ */
+public final class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private ByteBuffer[] buffers;
+    private final long length;
+    private int index;
+
+    public ByteBufferInputStreamCache(ByteBuffer[] buffers, long length) {
+        this.buffers = buffers;
+        this.length = length;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        ByteBuffer buffer = nextBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        return buffer.get() & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int total = 0;
+        while (len > 0) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                break;
+            }
+            int size = Math.min(len, buffer.remaining());
+            buffer.get(b, off, size);
+            off += size;
+            len -= size;
+            total += size;
+        }
+        return total == 0 ? -1 : total;
+    }
+
+    @Override
+    public synchronized long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                break;
+            }
+            int size = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + size);
+            skipped += size;
+        }
+        return skipped;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        long remaining = 0;
+        for (int i = index; i < buffers.length; i++) {
+            remaining += buffers[i].remaining();
+        }
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    public synchronized void writeTo(OutputStream os) throws IOException {
+        byte[] data = new byte[(int) Math.min(8192, length)];
+        for (int i = index; i < buffers.length; i++) {
+            // use a duplicate so writing does not consume this stream
+            ByteBuffer buffer = buffers[i].duplicate();
+            while (buffer.hasRemaining()) {
+                int size = Math.min(data.length, buffer.remaining());
+                buffer.get(data, 0, size);
+                os.write(data, 0, size);
+            }
+        }
+    }
+
+    public boolean inMemory() {
+        return true;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Detaches this stream cache from the pooled chunks by copying the content to heap memory,
+     * so the chunks can be released back to the pool.
+     */
+    synchronized void detach() {
+        ByteBuffer[] copies = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer buffer = buffers[i];
+            ByteBuffer copy = ByteBuffer.allocate(buffer.limit());
+            ByteBuffer content = buffer.duplicate();
+            content.rewind();
+            copy.put(content);
+            // keep the position so reading continues where it was
+            copy.position(buffer.position());
+            copies[i] = copy;
+        }
+        buffers = copies;
+    }
+
+    private ByteBuffer nextBuffer() {
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+
+}
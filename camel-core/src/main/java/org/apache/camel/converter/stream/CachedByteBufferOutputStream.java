@@ -0,0 +1,250 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.util.DirectByteBufferPool;
+
+/**
+ * An {@link OutputStream} which stores the data in direct (off-heap) {@link ByteBuffer} chunks
+ * acquired from a {@link DirectByteBufferPool}, and is capable of returning a
+ * {@link ByteBufferInputStreamCache} view of the chunks.
+ * <p/>
+ * The chunks are released back to the pool when this stream is closed, such as when the exchange is done.
+ * As the views may outlive the exchange, such as when the body is wire tapped or aggregated, the views which
+ * are still in use are then detached by copying their content to heap memory. The views are not released
+ * when closed, as a closed stream cache can be reset and read again.
+ * <p/>
+ * The chunks are reference counted by this stream and its views, so the views which have already been garbage
+ * collected are neither copied nor kept from being released, which is also a safety net if this stream is not closed.
+ */
+public final class CachedByteBufferOutputStream extends OutputStream {
+
+    private static final ReferenceQueue<ByteBufferInputStreamCache> QUEUE = new ReferenceQueue<ByteBufferInputStreamCache>();
+    // keeps the references to the views reachable until the views have been garbage collected
+    private static final Set<ViewReference> VIEWS = Collections.newSetFromMap(new ConcurrentHashMap<ViewReference, Boolean>());
+
+    private final DirectByteBufferPool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+    private final List<ViewReference> views = new ArrayList<ViewReference>();
+    // this stream holds one reference, and each view holds a reference
+    private final AtomicInteger references = new AtomicInteger(1);
+    private long capacity;
+    private long count;
+    private int index;
+    private boolean closed;
+
+    public CachedByteBufferOutputStream(DirectByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Ensures there is room for writing the given number of bytes, acquiring more chunks from the pool if needed.
+     *
+     * @param len number of bytes
+     * @return <tt>true</tt> if there is room, or <tt>false</tt> if the pool has no more memory available
+     */
+    public boolean reserve(int len) {
+        if (closed) {
+            return false;
+        }
+        // reclaim chunks from views which are no longer in use, so they can be reused
+        releaseUnreachableViews();
+        while (capacity - count < len) {
+            ByteBuffer chunk = pool.acquire();
+            if (chunk == null) {
+                return false;
+            }
+            chunks.add(chunk);
+            capacity += chunk.capacity();
+        }
+        return true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(1);
+        currentChunk().put((byte) b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureCapacity(len);
+        while (len > 0) {
+            ByteBuffer chunk = currentChunk();
+            int size = Math.min(len, chunk.remaining());
+            chunk.put(b, off, size);
+            off += size;
+            len -= size;
+            count += size;
+        }
+    }
+
+    /**
+     * Writes the content to the given stream
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        new ByteBufferInputStreamCache(readOnlyChunks(), count).writeTo(out);
+    }
+
+    /**
+     * Creates a new {@link ByteBufferInputStreamCache} view of the chunks, which is detached from the chunks
+     * when this stream is closed.
+     *
+     * @throws IllegalStateException if this stream has been closed
+     */
+    public ByteBufferInputStreamCache newInputStreamCache() {
+        synchronized (views) {
+            // must not create a view while closing as it would not be detached
+            if (closed || !retain()) {
+                throw new IllegalStateException("The off-heap memory has been released back to the pool");
+            }
+            ByteBufferInputStreamCache answer = new ByteBufferInputStreamCache(readOnlyChunks(), count);
+            ViewReference view = new ViewReference(answer, this);
+            VIEWS.add(view);
+            views.add(view);
+            return answer;
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Closes this stream, which detaches the views still in use and releases the chunks back to the pool.
+     */
+    @Override
+    public void close() {
+        List<ViewReference> detach;
+        synchronized (views) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            detach = new ArrayList<ViewReference>(views);
+            views.clear();
+        }
+        for (ViewReference view : detach) {
+            ByteBufferInputStreamCache cache = view.view.get();
+            if (cache != null) {
+                cache.detach();
+            }
+            view.release();
+        }
+        release();
+    }
+
+    /**
+     * Releases the chunks of views which have been garbage collected.
+     */
+    static void releaseUnreachableViews() {
+        Reference<? extends ByteBufferInputStreamCache> ref = QUEUE.poll();
+        while (ref != null) {
+            ((ViewReference) ref).release();
+            ref = QUEUE.poll();
+        }
+    }
+
+    private boolean retain() {
+        while (true) {
+            int current = references.get();
+            if (current == 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        if (references.decrementAndGet() == 0) {
+            for (ByteBuffer chunk : chunks) {
+                pool.release(chunk);
+            }
+            chunks.clear();
+            capacity = 0;
+        }
+    }
+
+    private ByteBuffer[] readOnlyChunks() {
+        ByteBuffer[] buffers = new ByteBuffer[chunks.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer buffer = chunks.get(i).duplicate();
+            buffer.flip();
+            buffers[i] = buffer.asReadOnlyBuffer();
+        }
+        return buffers;
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        if (!reserve(len)) {
+            throw new IOException("Cannot acquire " + len + " bytes of off-heap memory from " + pool);
+        }
+    }
+
+    private ByteBuffer currentChunk() {
+        ByteBuffer chunk = chunks.get(index);
+        while (!chunk.hasRemaining()) {
+            chunk = chunks.get(++index);
+        }
+        return chunk;
+    }
+
+    private static final class ViewReference extends PhantomReference<ByteBufferInputStreamCache> {
+        private final CachedByteBufferOutputStream owner;
+        // to detach the view if still in use when the owner is closed
+        private final WeakReference<ByteBufferInputStreamCache> view;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ViewReference(ByteBufferInputStreamCache view, CachedByteBufferOutputStream owner) {
+            super(view, QUEUE);
+            this.owner = owner;
+            this.view = new WeakReference<ByteBufferInputStreamCache>(view);
+        }
+
+        /**
+         * Releases the reference of the view, either when detached or garbage collected, whatever happens first.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                VIEWS.remove(this);
+                owner.release();
+            }
+        }
+    }
+
+}
@@ -29,8 +29,10 @@ import javax.crypto.CipherOutputStream;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultStreamCachingStrategy;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.util.DirectByteBufferPool;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ import org.slf4j.LoggerFactory;
  * This output stream will store the content into a File if the stream context size is exceed the
  * THRESHOLD value. The default THRESHOLD value is {@link StreamCache#DEFAULT_SPOOL_THRESHOLD} bytes .
  * <p/>
+ * If an off-heap memory budget has been configured on the {@link StreamCachingStrategy} then the content
+ * is first moved to direct memory when exceeding the THRESHOLD value, and only stored into a File
+ * when the off-heap memory budget is exhausted.
+ * <p/>
  * The temp file will store in the temp directory, you can configure it by setting the TEMP_DIR property.
  * If you don't set the TEMP_DIR property, it will choose the directory which is set by the
  * system property of "java.io.tmpdir".
@@ -64,6 +70,7 @@ public class CachedOutputStream extends OutputStream {
     private boolean inMemory = true;
     private int totalLength;
     private File tempFile;
+    private CachedByteBufferOutputStream offHeapStream;
     private FileInputStreamCache fileInputStreamCache;
     private CipherPair ciphers;
     private final boolean closedOnCompletion;
@@ -87,6 +94,7 @@ public class CachedOutputStream extends OutputStream {
                     }
                     if (closedOnCompletion) {
                         close();
+                        cleanUpOffHeap();
                         try {
                             cleanUpTempFile();
                         } catch (Exception e) {
@@ -113,6 +121,7 @@ public class CachedOutputStream extends OutputStream {
         currentStream.close();
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
+            cleanUpOffHeap();
             try {
                 cleanUpTempFile();
             } catch (Exception e) {
@@ -139,24 +148,24 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
+        if (inMemory) {
+            checkOverflow(len);
         }
         currentStream.write(b, off, len);
     }
 
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
+        if (inMemory) {
+            checkOverflow(b.length);
         }
         currentStream.write(b);
     }
 
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
+        if (inMemory) {
+            checkOverflow(1);
         }
         currentStream.write(b);
     }
@@ -167,13 +176,15 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof CachedByteBufferOutputStream) {
+                return ((CachedByteBufferOutputStream) currentStream).newInputStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
         } else {
             try {
                 if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers);
+                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers, strategy.isSpoolMemoryMapped());
                 }
                 return fileInputStreamCache;
             } catch (FileNotFoundException e) {
@@ -204,13 +215,15 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof CachedByteBufferOutputStream) {
+                return ((CachedByteBufferOutputStream) currentStream).newInputStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
         } else {
             try {
                 if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers);
+                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers, strategy.isSpoolMemoryMapped());
                 }
                 return fileInputStreamCache;
             } catch (FileNotFoundException e) {
@@ -227,20 +240,68 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void cleanUpOffHeap() {
+        // the direct memory is released back to the pool, and the stream caches still in use are copied to the heap
+        if (offHeapStream != null) {
+            offHeapStream.close();
+            offHeapStream = null;
+        }
+    }
+
+    private void checkOverflow(int len) throws IOException {
+        if (currentStream instanceof ByteArrayOutputStream) {
+            if (strategy.shouldSpoolCache(totalLength) && !pageToOffHeapStream(len)) {
+                pageToFileStream();
+            }
+        } else if (currentStream == offHeapStream && !offHeapStream.reserve(len)) {
+            // the off-heap memory budget is exhausted so overflow to disk
+            pageToFileStream();
+        }
+    }
+
+    private boolean pageToOffHeapStream(int len) throws IOException {
+        DirectByteBufferPool pool = null;
+        if (strategy instanceof DefaultStreamCachingStrategy) {
+            pool = ((DefaultStreamCachingStrategy) strategy).getOffHeapBufferPool();
+        }
+        if (pool == null) {
+            return false;
+        }
+
+        CachedByteBufferOutputStream out = new CachedByteBufferOutputStream(pool);
+        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        if (!out.reserve(bout.size() + len)) {
+            out.close();
+            return false;
+        }
+
+        LOG.trace("Moving stream cache to off-heap memory: {}", pool);
+
+        bout.writeTo(out);
+        offHeapStream = out;
+        currentStream = out;
+        return true;
+    }
+
     private void pageToFileStream() throws IOException {
         flush();
 
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream out = currentStream;
         tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
 
         LOG.trace("Creating temporary stream cache file: {}", tempFile);
 
         try {
             currentStream = createOutputStream(tempFile);
-            bout.writeTo(currentStream);
+            if (out instanceof ByteArrayOutputStream) {
+                ((ByteArrayOutputStream) out).writeTo(currentStream);
+            } else {
+                ((CachedByteBufferOutputStream) out).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
+            cleanUpOffHeap();
         }
     }
 
@@ -23,6 +23,9 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
@@ -30,25 +33,38 @@ import javax.crypto.CipherInputStream;
 
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StreamCache;
+import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 
 /**
  * A {@link StreamCache} for {@link File}s
+ * <p/>
+ * When memory-mapped and the file is not encrypted, the file is read using memory-mapped regions which are shared
+ * when the stream is reset, so re-reading the file does not open it again or copy it through heap buffers.
+ * The regions are not unmapped eagerly when this stream is closed, as other streams may still be reading
+ * from them, but are released when no longer referenced and garbage collected. As a mapped file cannot be
+ * deleted on Windows until then, the file is by default only memory-mapped when not on Windows.
  */
 public final class FileInputStreamCache extends InputStream implements StreamCache {
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
     private InputStream stream;
+    private MappedByteBuffer[] regions;
     private final File file;
     private final CipherPair ciphers;
+    private final boolean memoryMapped;
     private final long length;
 
     public FileInputStreamCache(File file) throws FileNotFoundException {
-        this(file, null);
+        this(file, null, !FileUtil.isWindows());
     }
     
-    FileInputStreamCache(File file, CipherPair ciphers) throws FileNotFoundException {
+    FileInputStreamCache(File file, CipherPair ciphers, boolean memoryMapped) throws FileNotFoundException {
         this.file = file;
         this.stream = null;
         this.ciphers = ciphers;
+        // encrypted files must be read through the decryptor
+        this.memoryMapped = memoryMapped && ciphers == null;
         this.length = file.length();
     }
     
@@ -57,10 +73,22 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         if (stream != null) {
             IOHelper.close(stream);
         }
+        if (regions != null) {
+            // do not unmap the regions as they may still be in use by a copy of this stream,
+            // and accessing an unmapped region would crash the JVM
+            regions = null;
+            stream = null;
+        }
     }
 
     @Override
     public void reset() {
+        if (regions != null) {
+            // reset by creating a new view of the mapped regions
+            stream = null;
+            return;
+        }
+
         // reset by closing and creating a new stream based on the file
         close();
         // reset by creating a new stream based on the file
@@ -73,22 +101,36 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
 
     public void writeTo(OutputStream os) throws IOException {
         if (stream == null && ciphers == null) {
-            FileInputStream s = new FileInputStream(file);
-            long len = file.length();
-            WritableByteChannel out;
-            if (os instanceof WritableByteChannel) {
-                out = (WritableByteChannel)os;
+            if (os instanceof WritableByteChannel || !memoryMapped) {
+                // let the file channel transfer the data directly to the target channel
+                FileInputStream s = new FileInputStream(file);
+                try {
+                    long len = file.length();
+                    WritableByteChannel out;
+                    if (os instanceof WritableByteChannel) {
+                        out = (WritableByteChannel) os;
+                    } else {
+                        out = Channels.newChannel(os);
+                    }
+                    FileChannel fc = s.getChannel();
+                    long pos = 0;
+                    while (pos < len) {
+                        long i = fc.transferTo(pos, len - pos, out);
+                        pos += i;
+                    }
+                } finally {
+                    // closing the stream also closes its channel
+                    IOHelper.close(s);
+                }
             } else {
-                out = Channels.newChannel(os);
-            }
-            FileChannel fc = s.getChannel();
-            long pos = 0;
-            while (pos < len) {
-                long i = fc.transferTo(pos, len - pos, out);
-                pos += i;
+                WritableByteChannel out = Channels.newChannel(os);
+                for (MappedByteBuffer region : getRegions()) {
+                    ByteBuffer buffer = region.duplicate();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
             }
-            s.close();
-            fc.close();
         } else {
             IOHelper.copy(getInputStream(), os);
         }
@@ -98,6 +140,16 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return false;
     }
 
+    /**
+     * Gets the file which holds the cached data, so the data can be transferred directly from the file
+     * using {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+     *
+     * @return the file, or <tt>null</tt> if the file is encrypted and must be read using this stream
+     */
+    public File getFile() {
+        return ciphers == null ? file : null;
+    }
+
     public long length() {
         return length;
     }
@@ -112,6 +164,16 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return getInputStream().read();
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return getInputStream().read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return getInputStream().skip(n);
+    }
+
     protected InputStream getInputStream() throws IOException {
         if (stream == null) {
             stream = createInputStream(file);
@@ -120,6 +182,15 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        if (memoryMapped) {
+            MappedByteBuffer[] mapped = getRegions();
+            ByteBuffer[] buffers = new ByteBuffer[mapped.length];
+            for (int i = 0; i < mapped.length; i++) {
+                buffers[i] = mapped[i].duplicate();
+            }
+            return new ByteBufferInputStreamCache(buffers, length);
+        }
+
         InputStream in = new BufferedInputStream(new FileInputStream(file));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.getDecryptor()) {
@@ -135,4 +206,25 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return in;
     }
 
+    private MappedByteBuffer[] getRegions() throws IOException {
+        if (regions == null) {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                FileChannel fc = raf.getChannel();
+                long size = fc.size();
+                int count = (int) ((size + MAX_REGION_SIZE - 1) / MAX_REGION_SIZE);
+                MappedByteBuffer[] answer = new MappedByteBuffer[count];
+                for (int i = 0; i < count; i++) {
+                    long position = i * MAX_REGION_SIZE;
+                    answer[i] = fc.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_REGION_SIZE, size - position));
+                }
+                regions = answer;
+            } finally {
+                // the mapping stays valid after the channel is closed
+                IOHelper.close(raf);
+            }
+        }
+        return regions;
+    }
+
 }
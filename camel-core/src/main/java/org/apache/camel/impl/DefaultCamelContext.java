@@ -64,6 +64,7 @@ import org.apache.camel.ShutdownRoute;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.StartupListener;
 import org.apache.camel.StatefulService;
+import org.apache.camel.StaticService;
 import org.apache.camel.SuspendableService;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.VetoCamelContextStartException;
@@ -101,6 +102,7 @@ import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -224,6 +226,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private Debugger debugger;
     private UuidGenerator uuidGenerator = createDefaultUuidGenerator();
     private UnitOfWorkFactory unitOfWorkFactory = new DefaultUnitOfWorkFactory();
+    private HeadersMapFactory headersMapFactory = new DefaultHeadersMapFactory();
     private final StopWatch stopWatch = new StopWatch(false);
     private Date startDate;
 
@@ -1151,6 +1154,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
                 }
                 if (answer instanceof Service) {
                     try {
+                        // let lifecycle strategies know about static languages such as simple, so they can be managed,
+                        // as only one instance of a static service lives as long as the CamelContext
+                        boolean singleton = answer instanceof IsSingleton && ((IsSingleton) answer).isSingleton();
+                        if (singleton && answer instanceof StaticService) {
+                            for (LifecycleStrategy strategy : lifecycleStrategies) {
+                                strategy.onServiceAdd(this, (Service) answer, null);
+                            }
+                        }
                         startService((Service) answer);
                     } catch (Exception e) {
                         throw ObjectHelper.wrapRuntimeCamelException(e);
@@ -1530,6 +1541,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.unitOfWorkFactory = unitOfWorkFactory;
     }
 
+    public HeadersMapFactory getHeadersMapFactory() {
+        return headersMapFactory;
+    }
+
+    public void setHeadersMapFactory(HeadersMapFactory headersMapFactory) {
+        this.headersMapFactory = headersMapFactory;
+    }
+
     public RuntimeEndpointRegistry getRuntimeEndpointRegistry() {
         return runtimeEndpointRegistry;
     }
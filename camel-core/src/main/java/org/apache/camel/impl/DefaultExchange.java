@@ -41,6 +41,8 @@ public final class DefaultExchange implements Exchange {
 
     protected final CamelContext context;
     private Map<String, Object> properties;
+    // whether the properties is shared with copies of this exchange and must be copied before mutating
+    private boolean propertiesShared;
     private Message in;
     private Message out;
     private Exception exception;
@@ -85,9 +87,12 @@ public final class DefaultExchange implements Exchange {
         DefaultExchange exchange = new DefaultExchange(this);
 
         if (hasProperties()) {
-            exchange.setProperties(safeCopy(getProperties()));
+            // share the properties with the copy (copy-on-write) so copying is cheap, where the copy only
+            // keeps the properties it changes, such as the index properties set by the splitter and multicast EIPs
+            propertiesShared = true;
+            exchange.properties = newLayeredProperties(properties);
         }
-        
+
         exchange.setIn(getIn().copy());
         if (hasOut()) {
             exchange.setOut(getOut().copy());
@@ -97,15 +102,11 @@ public final class DefaultExchange implements Exchange {
     }
 
     @SuppressWarnings("unchecked")
-    private static Map<String, Object> safeCopy(Map<String, Object> properties) {
-        if (properties == null) {
-            return null;
-        }
-
-        Map<String, Object> answer = new ConcurrentHashMap<String, Object>(properties);
+    private static Map<String, Object> newLayeredProperties(Map<String, Object> properties) {
+        Map<String, Object> answer = new LayeredPropertiesMap(properties);
 
         // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
+        List<MessageHistory> history = (List<MessageHistory>) properties.get(Exchange.MESSAGE_HISTORY);
         if (history != null) {
             answer.put(Exchange.MESSAGE_HISTORY, new ArrayList<MessageHistory>(history));
         }
@@ -185,12 +186,19 @@ public final class DefaultExchange implements Exchange {
         if (!hasProperties()) {
             return null;
         }
+        if (propertiesShared && !properties.containsKey(name)) {
+            // nothing to remove so no need to copy the shared properties
+            return null;
+        }
         return getProperties().remove(name);
     }
 
     public Map<String, Object> getProperties() {
         if (properties == null) {
             properties = new ConcurrentHashMap<String, Object>();
+        } else if (propertiesShared) {
+            // the returned map may be mutated so we must have our own copy
+            unshareProperties();
         }
         return properties;
     }
@@ -201,6 +209,20 @@ public final class DefaultExchange implements Exchange {
 
     public void setProperties(Map<String, Object> properties) {
         this.properties = properties;
+        this.propertiesShared = false;
+    }
+
+    /**
+     * Replaces the properties shared with copies of this exchange with our own copy.
+     */
+    private void unshareProperties() {
+        if (properties instanceof LayeredPropertiesMap) {
+            // only copy the properties changed by this exchange
+            properties = ((LayeredPropertiesMap) properties).copy();
+        } else {
+            properties = new ConcurrentHashMap<String, Object>(properties);
+        }
+        propertiesShared = false;
     }
 
     public Message getIn() {
@@ -22,8 +22,10 @@ import java.util.Set;
 import javax.activation.DataHandler;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.util.CaseInsensitiveMap;
 import org.apache.camel.util.EndpointHelper;
+import org.apache.camel.util.FastHeadersMap;
 import org.apache.camel.util.MessageHelper;
 
 /**
@@ -33,10 +35,15 @@ import org.apache.camel.util.MessageHelper;
  * This allows us to be able to lookup headers using case insensitive keys, making it easier for end users
  * as they do not have to be worried about using exact keys.
  * See more details at {@link org.apache.camel.util.CaseInsensitiveMap}.
+ * <p/>
+ * The map implementation can be customized using a {@link HeadersMapFactory} configured on the
+ * {@link org.apache.camel.CamelContext}, such as the {@link FastHeadersMapFactory}.
  *
  * @version 
  */
 public class DefaultMessage extends MessageSupport {
+    private static final HeadersMapFactory DEFAULT_HEADERS_MAP_FACTORY = new DefaultHeadersMapFactory();
+
     private boolean fault;
     private Map<String, Object> headers;
     private Map<String, DataHandler> attachments;
@@ -163,11 +170,12 @@ public class DefaultMessage extends MessageSupport {
     }
 
     public void setHeaders(Map<String, Object> headers) {
-        if (headers instanceof CaseInsensitiveMap) {
+        HeadersMapFactory factory = getHeadersMapFactory();
+        if (factory.isInstanceOf(headers) || headers instanceof CaseInsensitiveMap || headers instanceof FastHeadersMap) {
             this.headers = headers;
         } else {
             // wrap it in a case insensitive map
-            this.headers = new CaseInsensitiveMap(headers);
+            this.headers = factory.newMap(headers);
         }
     }
 
@@ -192,11 +200,28 @@ public class DefaultMessage extends MessageSupport {
      *         the underlying inbound transport
      */
     protected Map<String, Object> createHeaders() {
-        Map<String, Object> map = new CaseInsensitiveMap();
+        Map<String, Object> map = getHeadersMapFactory().newMap();
         populateInitialHeaders(map);
         return map;
     }
 
+    /**
+     * Gets the {@link HeadersMapFactory} configured on the {@link org.apache.camel.CamelContext},
+     * or the default factory if this message has not been associated with an exchange.
+     *
+     * @return the factory to use for creating the headers
+     */
+    protected HeadersMapFactory getHeadersMapFactory() {
+        Exchange exchange = getExchange();
+        if (exchange != null && exchange.getContext() != null) {
+            HeadersMapFactory factory = exchange.getContext().getHeadersMapFactory();
+            if (factory != null) {
+                return factory;
+            }
+        }
+        return DEFAULT_HEADERS_MAP_FACTORY;
+    }
+
     /**
      * A factory method to lazily create the attachments to make it easy to
      * create efficient Message implementations which only construct and
@@ -28,6 +28,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.util.DirectByteBufferPool;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
@@ -58,6 +59,9 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
     private int spoolUsedHeapMemoryThreshold;
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolChiper;
+    private long offHeapMemoryLimit;
+    private volatile DirectByteBufferPool offHeapBufferPool;
+    private boolean spoolMemoryMapped = !FileUtil.isWindows();
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
@@ -124,6 +128,41 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         this.spoolChiper = spoolChiper;
     }
 
+    public long getOffHeapMemoryLimit() {
+        return offHeapMemoryLimit;
+    }
+
+    public void setOffHeapMemoryLimit(long offHeapMemoryLimit) {
+        this.offHeapMemoryLimit = offHeapMemoryLimit;
+    }
+
+    /**
+     * Gets the pool of direct (off-heap) memory to use for stream caches which exceed the spool threshold.
+     *
+     * @return the pool, or <tt>null</tt> if off-heap memory is not in use
+     */
+    public DirectByteBufferPool getOffHeapBufferPool() {
+        return offHeapBufferPool;
+    }
+
+    public long getOffHeapMemoryAllocated() {
+        DirectByteBufferPool pool = offHeapBufferPool;
+        return pool != null ? pool.getAllocated() : 0;
+    }
+
+    public long getOffHeapMemoryUsed() {
+        DirectByteBufferPool pool = offHeapBufferPool;
+        return pool != null ? pool.getUsed() : 0;
+    }
+
+    public boolean isSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    public void setSpoolMemoryMapped(boolean spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
     public int getBufferSize() {
         return bufferSize;
     }
@@ -308,6 +347,14 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             }
         }
 
+        if (offHeapMemoryLimit > 0) {
+            if (spoolRules.isEmpty()) {
+                LOG.warn("OffHeapMemoryLimit is configured but there are no spool rules so off-heap memory will not be in use");
+            } else {
+                offHeapBufferPool = new DirectByteBufferPool(offHeapMemoryLimit);
+            }
+        }
+
         LOG.debug("StreamCaching configuration {}", this.toString());
 
         if (spoolDirectory != null) {
@@ -328,6 +375,12 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             LOG.debug("Stopping StreamCachingStrategy with statistics: {}", statistics.toString());
         }
 
+        if (offHeapBufferPool != null) {
+            LOG.debug("Clearing off-heap buffer pool: {}", offHeapBufferPool);
+            offHeapBufferPool.clear();
+            offHeapBufferPool = null;
+        }
+
         statistics.reset();
     }
 
@@ -338,6 +391,8 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             + ", spoolChiper=" + spoolChiper
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
+            + ", offHeapMemoryLimit=" + offHeapMemoryLimit
+            + ", spoolMemoryMapped=" + spoolMemoryMapped
             + ", bufferSize=" + bufferSize
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
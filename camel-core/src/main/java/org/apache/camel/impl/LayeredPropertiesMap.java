@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A map of exchange properties which is layered on top of the properties of the exchange it was copied from.
+ * <p/>
+ * The properties which are added, changed or removed are kept in this map only, so the properties of the
+ * parent are shared and not copied, such as when the splitter and multicast EIPs copy the exchange and set
+ * the index properties on the copy. The parent properties must not be changed while in use by this map,
+ * so the parent exchange must replace its properties with a copy before changing them.
+ * <p/>
+ * As the exchange properties this map is thread safe and does not support <tt>null</tt> keys or values.
+ *
+ * @version 
+ */
+final class LayeredPropertiesMap extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> parent;
+    private final Map<String, Object> local;
+    // the keys of the parent properties which has been removed
+    private final Set<Object> removed;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    LayeredPropertiesMap(Map<String, Object> parent) {
+        this(parent, new ConcurrentHashMap<String, Object>(), newKeySet());
+    }
+
+    private LayeredPropertiesMap(Map<String, Object> parent, Map<String, Object> local, Set<Object> removed) {
+        this.parent = parent;
+        this.local = local;
+        this.removed = removed;
+    }
+
+    /**
+     * Creates a copy of this map, which copies only the properties added, changed or removed on this layer
+     * and shares the parent properties.
+     */
+    LayeredPropertiesMap copy() {
+        Set<Object> keys = newKeySet();
+        keys.addAll(removed);
+        return new LayeredPropertiesMap(parent, new ConcurrentHashMap<String, Object>(local), keys);
+    }
+
+    /**
+     * Gets the parent properties which this map is layered on top of.
+     */
+    Map<String, Object> getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the number of properties which are added or changed on this layer.
+     */
+    int getLocalSize() {
+        return local.size();
+    }
+
+    private static Set<Object> newKeySet() {
+        return Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object answer = local.get(key);
+        if (answer == null && !removed.contains(key)) {
+            answer = parent.get(key);
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || (!removed.contains(key) && parent.containsKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object answer = get(key);
+        local.put(key, value);
+        removed.remove(key);
+        return answer;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object answer = get(key);
+        local.remove(key);
+        if (parent.containsKey(key)) {
+            removed.add(key);
+        }
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        removed.addAll(parent.keySet());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (!local.isEmpty()) {
+            return false;
+        }
+        for (String key : parent.keySet()) {
+            if (!removed.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            int size = local.size();
+            for (String key : parent.keySet()) {
+                if (!local.containsKey(key) && !removed.contains(key)) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            LayeredPropertiesMap.this.clear();
+        }
+    }
+
+    /**
+     * Iterates the properties on this layer followed by the parent properties which are not changed or removed.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final Iterator<Map.Entry<String, Object>> localIterator = local.entrySet().iterator();
+        private final Iterator<Map.Entry<String, Object>> parentIterator = parent.entrySet().iterator();
+        // the keys iterated on this layer, which must be skipped in the parent
+        private final Set<String> seen = new HashSet<String>();
+        private Map.Entry<String, Object> next;
+        private Map.Entry<String, Object> last;
+
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (localIterator.hasNext()) {
+                Map.Entry<String, Object> entry = localIterator.next();
+                seen.add(entry.getKey());
+                next = entry;
+                return true;
+            }
+            while (parentIterator.hasNext()) {
+                Map.Entry<String, Object> entry = parentIterator.next();
+                String key = entry.getKey();
+                if (!seen.contains(key) && !local.containsKey(key) && !removed.contains(key)) {
+                    // must not change the parent when setting the value of the entry
+                    next = new LayeredEntry(key, entry.getValue());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = null;
+            return last;
+        }
+
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            LayeredPropertiesMap.this.remove(last.getKey());
+            last = null;
+        }
+    }
+
+    private final class LayeredEntry extends AbstractMap.SimpleEntry<String, Object> {
+        private static final long serialVersionUID = 1L;
+
+        LayeredEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+}
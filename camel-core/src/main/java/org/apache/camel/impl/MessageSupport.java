@@ -20,6 +20,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.util.FastHeadersMap;
 
 /**
  * A base class for implementation inheritance providing the core
@@ -143,12 +144,17 @@ public abstract class MessageSupport implements Message {
         }
 
         if (!sameHeadersInstance) {
-            if (hasHeaders()) {
-                // okay its safe to clear the headers
-                getHeaders().clear();
-            }
-            if (that.hasHeaders()) {
-                getHeaders().putAll(that.getHeaders());
+            if (that.hasHeaders() && that.getHeaders() instanceof FastHeadersMap) {
+                // share the headers copy-on-write, which avoids copying all the headers
+                setHeaders(((FastHeadersMap) that.getHeaders()).copy());
+            } else {
+                if (hasHeaders()) {
+                    // okay its safe to clear the headers
+                    getHeaders().clear();
+                }
+                if (that.hasHeaders()) {
+                    getHeaders().putAll(that.getHeaders());
+                }
             }
         }
         
@@ -58,6 +58,13 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     protected final ConcurrentMap<TypeMapping, TypeConverter> typeMappings = new ConcurrentHashMap<TypeMapping, TypeConverter>();
     // for misses use a soft reference cache map, as the classes may be un-deployed at runtime
     protected final LRUSoftCache<TypeMapping, TypeMapping> misses = new LRUSoftCache<TypeMapping, TypeMapping>(1000);
+    // cache of to type -> from type -> the type converter to use, which allows looking up the type converter
+    // without creating a key. it only caches type converters which are also in the type mappings, and thus
+    // does not keep any other classes loaded than the type mappings does
+    protected final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter>> converterCache
+            = new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter>>();
+    // incremented when the type mappings are changed, so a lookup racing with the change does not cache a stale result
+    private final AtomicLong generation = new AtomicLong();
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<TypeConverterLoader>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<FallbackTypeConverter>();
     protected final PackageScanClassResolver resolver;
@@ -245,9 +252,12 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             return type.cast(value);
         }
 
-        // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
+        // check if we have tried it before and if its a miss, there can be no miss if we have
+        // cached the type converter to use, so we need not create a key for the common case
+        long current = generation.get();
+        Class<?> fromType = value.getClass();
+        TypeConverter converter = getCachedConverter(type, fromType);
+        if (converter == null && misses.containsKey(new TypeMapping(type, fromType))) {
             // we have tried before but we cannot convert this one
             return Void.TYPE;
         }
@@ -265,9 +275,13 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(type, value);
+        if (converter == null) {
+            converter = getOrFindTypeConverter(type, value);
+        }
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            if (log.isTraceEnabled()) {
+                log.trace("Using converter: {} to convert [{}=>{}]", new Object[]{converter, fromType, type});
+            }
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
@@ -285,7 +299,6 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (type.isPrimitive()) {
             Class<?> primitiveType = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
             if (primitiveType != type) {
-                Class<?> fromType = value.getClass();
                 TypeConverter tc = getOrFindTypeConverter(primitiveType, value);
                 if (tc != null) {
                     // add the type as a known type converter as we can convert from primitive to object converter
@@ -348,7 +361,12 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
+            TypeMapping key = new TypeMapping(type, fromType);
             misses.put(key, key);
+            if (generation.get() != current) {
+                // the type mappings was changed while converting so the miss may be stale
+                misses.remove(key);
+            }
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
@@ -369,6 +387,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             typeMappings.put(key, typeConverter);
             // remove any previous misses, as we added the new type converter
             misses.remove(key);
+            // and clear the cache, as the new type converter may be a better match for previous lookups
+            generation.incrementAndGet();
+            converterCache.clear();
         }
     }
 
@@ -380,6 +401,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (converter != null) {
             typeMappings.remove(key);
             misses.remove(key);
+            generation.incrementAndGet();
+            converterCache.clear();
         }
         return converter != null;
     }
@@ -439,6 +462,16 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (value != null) {
             fromType = value.getClass();
         }
+        if (fromType != null) {
+            TypeConverter cached = getCachedConverter(toType, fromType);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // must get the generation before looking up the type mappings
+        long current = generation.get();
+
         TypeMapping key = new TypeMapping(toType, fromType);
         TypeConverter converter = typeMappings.get(key);
         if (converter == null) {
@@ -448,9 +481,42 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 typeMappings.putIfAbsent(key, converter);
             }
         }
+        if (converter != null && fromType != null) {
+            cacheConverter(toType, fromType, converter, current);
+        }
         return converter;
     }
 
+    /**
+     * Gets the cached type converter for the given types
+     *
+     * @return the type converter, or <tt>null</tt> if not cached
+     */
+    private TypeConverter getCachedConverter(Class<?> toType, Class<?> fromType) {
+        ConcurrentMap<Class<?>, TypeConverter> converters = converterCache.get(toType);
+        return converters != null ? converters.get(fromType) : null;
+    }
+
+    /**
+     * Caches the type converter for the given types, unless the type mappings has been changed since the
+     * given generation, as the type converter may then be stale.
+     */
+    private void cacheConverter(Class<?> toType, Class<?> fromType, TypeConverter converter, long current) {
+        ConcurrentMap<Class<?>, TypeConverter> converters = converterCache.get(toType);
+        if (converters == null) {
+            converters = new ConcurrentHashMap<Class<?>, TypeConverter>();
+            ConcurrentMap<Class<?>, TypeConverter> existing = converterCache.putIfAbsent(toType, converters);
+            if (existing != null) {
+                converters = existing;
+            }
+        }
+        converters.put(fromType, converter);
+        if (generation.get() != current) {
+            // the cache may have been cleared before we added the type converter
+            converters.remove(fromType, converter);
+        }
+    }
+
     @Override
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
         return doLookup(toType, fromType, false);
@@ -579,6 +645,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
         typeMappings.clear();
         misses.clear();
+        generation.incrementAndGet();
+        converterCache.clear();
         statistics.reset();
     }
 
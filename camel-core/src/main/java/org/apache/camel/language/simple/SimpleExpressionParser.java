@@ -47,6 +47,15 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         super(expression, allowEscape);
     }
 
+    /**
+     * @param expression  the expression to parse
+     * @param allowEscape whether to allow escapes
+     * @param compile     whether to compile OGNL method calls so they are invoked directly
+     */
+    public SimpleExpressionParser(String expression, boolean allowEscape, boolean compile) {
+        super(expression, allowEscape, compile);
+    }
+
     public Expression parseExpression() {
         clear();
         try {
@@ -141,7 +150,7 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         if (token.getType().isFunctionStart()) {
             // starting a new function
             functions.incrementAndGet();
-            return new SimpleFunctionStart(token);
+            return new SimpleFunctionStart(token, compile);
         } else if (functions.get() > 0 && token.getType().isFunctionEnd()) {
             // there must be a start function already, to let this be a end function
             functions.decrementAndGet();
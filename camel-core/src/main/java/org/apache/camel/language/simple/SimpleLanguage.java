@@ -18,8 +18,10 @@ package org.apache.camel.language.simple;
 
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
+import org.apache.camel.StaticService;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.PredicateToExpressionAdapter;
 
@@ -86,19 +88,30 @@ import org.apache.camel.util.PredicateToExpressionAdapter;
  * return the full path including the starting directory.
  * <br/>
  * The <b>only</b> file is the filename only with all paths clipped.
+ * <p/>
+ * The parsed expressions and predicates are cached by their text (and whether escaping is allowed), so expressions
+ * which are created over and over again, such as dynamic expressions, are only parsed once.
+ * Use {@link #setCacheSize(int)} to configure the size of the cache.
  *
  */
-public class SimpleLanguage extends LanguageSupport {
+public class SimpleLanguage extends LanguageSupport implements StaticService {
+
+    public static final int DEFAULT_CACHE_SIZE = 1000;
 
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     protected boolean allowEscape = true;
+    protected boolean compile;
+    protected int cacheSize = DEFAULT_CACHE_SIZE;
+    private volatile LRUCache<CacheKey, Expression> cacheExpression;
+    private volatile LRUCache<CacheKey, Predicate> cachePredicate;
 
     /**
      * Default constructor.
      */
     public SimpleLanguage() {
+        createCaches();
     }
 
     public Predicate createPredicate(String expression) {
@@ -106,14 +119,29 @@ public class SimpleLanguage extends LanguageSupport {
 
         expression = loadResource(expression);
 
+        boolean escape = allowEscape;
+        LRUCache<CacheKey, Predicate> cache = cachePredicate;
+        CacheKey key = null;
+        if (cache != null) {
+            key = new CacheKey(expression, escape);
+            Predicate cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
-        Predicate answer = SimpleBackwardsCompatibleParser.parsePredicate(expression, allowEscape);
+        Predicate answer = SimpleBackwardsCompatibleParser.parsePredicate(expression, escape);
         if (answer == null) {
             // use the new parser
-            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, escape, compile);
             answer = parser.parsePredicate();
         }
+
+        if (cache != null) {
+            cache.put(key, answer);
+        }
         return answer;
     }
 
@@ -122,17 +150,177 @@ public class SimpleLanguage extends LanguageSupport {
 
         expression = loadResource(expression);
 
+        boolean escape = allowEscape;
+        LRUCache<CacheKey, Expression> cache = cacheExpression;
+        CacheKey key = null;
+        if (cache != null) {
+            key = new CacheKey(expression, escape);
+            Expression cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
-        Expression answer = SimpleBackwardsCompatibleParser.parseExpression(expression, allowEscape);
+        Expression answer = SimpleBackwardsCompatibleParser.parseExpression(expression, escape);
         if (answer == null) {
             // use the new parser
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape);
+            SimpleExpressionParser parser = new SimpleExpressionParser(expression, escape, compile);
             answer = parser.parseExpression();
         }
+
+        if (cache != null) {
+            cache.put(key, answer);
+        }
         return answer;
     }
 
+    public boolean isCompile() {
+        return compile;
+    }
+
+    /**
+     * Whether to compile OGNL method calls such as <tt>${body.address.street}</tt> so the methods are
+     * invoked directly, instead of using the bean component on each evaluation. If an OGNL method call
+     * cannot be compiled then its evaluated as usual.
+     * <p/>
+     * This option is default <tt>false</tt>.
+     */
+    public void setCompile(boolean compile) {
+        this.compile = compile;
+        // the cached expressions was parsed using the old setting
+        clearCache();
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of parsed expressions and predicates to cache (each).
+     * <p/>
+     * Use <tt>0</tt> or a negative value to disable caching, which means the expressions
+     * is parsed each time they are created.
+     * <p/>
+     * The default size is <tt>1000</tt>.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        createCaches();
+    }
+
+    /**
+     * Gets the number of parsed expressions and predicates currently cached
+     */
+    public int getCacheCurrentSize() {
+        int size = 0;
+        LRUCache<CacheKey, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            size += expressions.size();
+        }
+        LRUCache<CacheKey, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            size += predicates.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of times a parsed expression or predicate was found in the cache
+     */
+    public long getCacheHits() {
+        long hits = 0;
+        LRUCache<CacheKey, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            hits += expressions.getHits();
+        }
+        LRUCache<CacheKey, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            hits += predicates.getHits();
+        }
+        return hits;
+    }
+
+    /**
+     * Gets the number of times an expression or predicate was not in the cache and had to be parsed
+     */
+    public long getCacheMisses() {
+        long misses = 0;
+        LRUCache<CacheKey, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            misses += expressions.getMisses();
+        }
+        LRUCache<CacheKey, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            misses += predicates.getMisses();
+        }
+        return misses;
+    }
+
+    /**
+     * Gets the number of parsed expressions and predicates evicted from the cache
+     */
+    public long getCacheEvicted() {
+        long evicted = 0;
+        LRUCache<CacheKey, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            evicted += expressions.getEvicted();
+        }
+        LRUCache<CacheKey, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            evicted += predicates.getEvicted();
+        }
+        return evicted;
+    }
+
+    /**
+     * Resets the cache statistics such as hits and misses.
+     */
+    public void resetCacheStatistics() {
+        LRUCache<CacheKey, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            expressions.resetStatistics();
+        }
+        LRUCache<CacheKey, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            predicates.resetStatistics();
+        }
+    }
+
+    /**
+     * Clears the cache of parsed expressions and predicates, and resets the cache statistics.
+     */
+    public void clearCache() {
+        LRUCache<CacheKey, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            expressions.clear();
+        }
+        LRUCache<CacheKey, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            predicates.clear();
+        }
+    }
+
+    private void createCaches() {
+        if (cacheSize > 0) {
+            // start small as the cache is often only used for a few expressions, and do not stop the evicted
+            cacheExpression = new LRUCache<CacheKey, Expression>(16, cacheSize, false);
+            cachePredicate = new LRUCache<CacheKey, Predicate>(16, cacheSize, false);
+        } else {
+            cacheExpression = null;
+            cachePredicate = null;
+        }
+    }
+
+    public void start() throws Exception {
+        // noop
+    }
+
+    public void stop() throws Exception {
+        clearCache();
+    }
+
     /**
      * Creates a new {@link Expression}.
      * <p/>
@@ -186,7 +374,8 @@ public class SimpleLanguage extends LanguageSupport {
      * Change the start tokens used for functions.
      * <p/>
      * This can be used to alter the function tokens to avoid clashes with other
-     * frameworks etc.
+     * frameworks etc. Expressions which have already been parsed and cached by other
+     * {@link SimpleLanguage} instances are not affected, so the tokens should be changed before use.
      * <p/>
      * The default start tokens is <tt>${</tt> and <tt>$simple{</tt>.
      *
@@ -194,13 +383,16 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public static void changeFunctionStartToken(String... startToken) {
         SimpleTokenizer.changeFunctionStartToken(startToken);
+        // the cached expressions was parsed using the old tokens
+        SIMPLE.clearCache();
     }
     
     /**
      * Change the end tokens used for functions.
      * <p/>
      * This can be used to alter the function tokens to avoid clashes with other
-     * frameworks etc.
+     * frameworks etc. Expressions which have already been parsed and cached by other
+     * {@link SimpleLanguage} instances are not affected, so the tokens should be changed before use.
      * <p/>
      * The default end token is <tt>}</tt>
      *
@@ -208,6 +400,8 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public static void changeFunctionEndToken(String... endToken) {
         SimpleTokenizer.changeFunctionEndToken(endToken);
+        // the cached expressions was parsed using the old tokens
+        SIMPLE.clearCache();
     }
 
     /**
@@ -222,6 +416,7 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public void setFunctionStartToken(String startToken) {
         changeFunctionStartToken(startToken);
+        clearCache();
     }
 
     /**
@@ -236,5 +431,37 @@ public class SimpleLanguage extends LanguageSupport {
      */
     public void setFunctionEndToken(String endToken) {
         changeFunctionEndToken(endToken);
+        clearCache();
+    }
+
+    /**
+     * The key of the cached expressions and predicates, as the text is parsed differently depending on whether
+     * escaping is allowed.
+     */
+    private static final class CacheKey {
+        private final String expression;
+        private final boolean allowEscape;
+
+        private CacheKey(String expression, boolean allowEscape) {
+            this.expression = expression;
+            this.allowEscape = allowEscape;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return allowEscape == that.allowEscape && expression.equals(that.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * expression.hashCode() + (allowEscape ? 1 : 0);
+        }
     }
 }
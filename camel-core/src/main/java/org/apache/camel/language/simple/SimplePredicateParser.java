@@ -60,6 +60,15 @@ public class SimplePredicateParser extends BaseSimpleParser {
         super(expression, allowEscape);
     }
 
+    /**
+     * @param expression  the expression to parse
+     * @param allowEscape whether to allow escapes
+     * @param compile     whether to compile OGNL method calls so they are invoked directly
+     */
+    public SimplePredicateParser(String expression, boolean allowEscape, boolean compile) {
+        super(expression, allowEscape, compile);
+    }
+
     public Predicate parsePredicate() {
         clear();
         try {
@@ -221,7 +230,7 @@ public class SimplePredicateParser extends BaseSimpleParser {
                                   AtomicBoolean startFunction) {
         if (token.getType().isFunctionStart()) {
             startFunction.set(true);
-            return new SimpleFunctionStart(token);
+            return new SimpleFunctionStart(token, compile);
         } else if (token.getType().isFunctionEnd()) {
             startFunction.set(false);
             return new SimpleFunctionEnd(token);
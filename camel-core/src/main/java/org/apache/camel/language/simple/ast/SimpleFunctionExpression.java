@@ -17,6 +17,7 @@
 package org.apache.camel.language.simple.ast;
 
 import org.apache.camel.Expression;
+import org.apache.camel.builder.CompiledOgnlExpression;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.language.simple.types.SimpleParserException;
 import org.apache.camel.language.simple.types.SimpleToken;
@@ -30,8 +31,19 @@ import org.apache.camel.util.StringHelper;
  */
 public class SimpleFunctionExpression extends LiteralExpression {
 
+    private final boolean compile;
+
     public SimpleFunctionExpression(SimpleToken token) {
+        this(token, false);
+    }
+
+    /**
+     * @param token   the token
+     * @param compile whether to compile OGNL method calls so they are invoked directly
+     */
+    public SimpleFunctionExpression(SimpleToken token, boolean compile) {
         super(token);
+        this.compile = compile;
     }
 
     @Override
@@ -222,6 +234,12 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${body.OGNL} was: " + function, token.getIndex());
             }
+            if (compile) {
+                Expression compiled = CompiledOgnlExpression.compile(ExpressionBuilder.bodyExpression(), remainder);
+                if (compiled != null) {
+                    return compiled;
+                }
+            }
             return ExpressionBuilder.bodyOgnlExpression(remainder);
         }
 
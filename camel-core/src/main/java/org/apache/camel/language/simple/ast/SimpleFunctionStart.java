@@ -29,10 +29,16 @@ import org.apache.camel.util.StringHelper;
 public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
 
     private CompositeNodes block;
+    private final boolean compile;
 
     public SimpleFunctionStart(SimpleToken token) {
+        this(token, false);
+    }
+
+    public SimpleFunctionStart(SimpleToken token, boolean compile) {
         super(token);
         this.block = new CompositeNodes(token);
+        this.compile = compile;
     }
 
     @Override
@@ -52,7 +58,7 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
     }
 
     private Expression doCreateLiteralExpression(final String expression) {
-        SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken());
+        SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken(), compile);
         LiteralNode literal = (LiteralNode) block.getChildren().get(0);
         function.addText(literal.getText());
         return function.createExpression(expression);
@@ -95,6 +101,7 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
                 // we have now concat the block as a String which contains the function expression
                 // which we then need to evaluate as a function
                 String exp = sb.toString();
+                // the function is created on each evaluation so there is no point in compiling it
                 SimpleFunctionExpression function = new SimpleFunctionExpression(token);
                 function.addText(exp);
                 try {
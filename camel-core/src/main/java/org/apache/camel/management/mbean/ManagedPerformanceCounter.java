@@ -41,15 +41,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic totalProcessingTime;
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
-    private Statistic meanProcessingTime;
+    private LatencyHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
-    private String firstExchangeCompletedExchangeId;
+    private volatile String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
-    private String firstExchangeFailureExchangeId;
+    private volatile String firstExchangeFailureExchangeId;
     private Statistic lastExchangeCompletedTimestamp;
-    private String lastExchangeCompletedExchangeId;
+    private volatile String lastExchangeCompletedExchangeId;
     private Statistic lastExchangeFailureTimestamp;
-    private String lastExchangeFailureExchangeId;
+    private volatile String lastExchangeFailureExchangeId;
     private boolean statisticsEnabled = true;
 
     public void init(ManagementStrategy strategy) {
@@ -66,7 +66,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.totalProcessingTime = new Statistic("org.apache.camel.totalProcessingTime", this, Statistic.UpdateMode.COUNTER);
         this.lastProcessingTime = new Statistic("org.apache.camel.lastProcessingTime", this, Statistic.UpdateMode.VALUE);
         this.deltaProcessingTime = new Statistic("org.apache.camel.deltaProcessingTime", this, Statistic.UpdateMode.DELTA);
-        this.meanProcessingTime = new Statistic("org.apache.camel.meanProcessingTime", this, Statistic.UpdateMode.VALUE);
+        this.processingTimeHistogram = new LatencyHistogram();
 
         this.firstExchangeCompletedTimestamp = new Statistic("org.apache.camel.firstExchangeCompletedTimestamp", this, Statistic.UpdateMode.VALUE);
         this.firstExchangeFailureTimestamp = new Statistic("org.apache.camel.firstExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
@@ -87,7 +87,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.reset();
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
-        meanProcessingTime.reset();
+        processingTimeHistogram.reset();
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -123,7 +123,8 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public long getMeanProcessingTime() throws Exception {
-        return meanProcessingTime.getValue();
+        long count = exchangesCompleted.getValue();
+        return count > 0 ? totalProcessingTime.getValue() / count : 0;
     }
 
     public long getMaxProcessingTime() throws Exception {
@@ -142,6 +143,28 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    public long getP50ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(50);
+    }
+
+    public long getP95ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(95);
+    }
+
+    public long getP99ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(99);
+    }
+
+    public long getP999ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(99.9);
+    }
+
+    protected long getProcessingTimePercentile(double percentile) {
+        long value = processingTimeHistogram.getValueAtPercentile(percentile);
+        // the histogram is not exact, so do not report a higher value than the max
+        return Math.min(value, maxProcessingTime.getValue());
+    }
+
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
         return value > 0 ? new Date(value) : null;
@@ -186,7 +209,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.statisticsEnabled = statisticsEnabled;
     }
 
-    public synchronized void completedExchange(Exchange exchange, long time) {
+    public void completedExchange(Exchange exchange, long time) {
         increment();
         exchangesCompleted.increment();
 
@@ -203,6 +226,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        processingTimeHistogram.record(time);
 
         long now = new Date().getTime();
         if (firstExchangeCompletedTimestamp.getUpdateCount() == 0) {
@@ -214,14 +238,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             firstExchangeCompletedExchangeId = exchange.getExchangeId();
         }
         lastExchangeCompletedExchangeId = exchange.getExchangeId();
-
-        // update mean
-        long count = exchangesCompleted.getValue();
-        long mean = count > 0 ? totalProcessingTime.getValue() / count : 0;
-        meanProcessingTime.updateValue(mean);
     }
 
-    public synchronized void failedExchange(Exchange exchange) {
+    public void failedExchange(Exchange exchange) {
         increment();
         exchangesFailed.increment();
 
@@ -246,6 +265,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public String dumpStatsAsXml(boolean fullStats) {
+        long count = exchangesCompleted.getValue();
+        long mean = count > 0 ? totalProcessingTime.getValue() / count : 0;
+
         StringBuilder sb = new StringBuilder();
         sb.append("<stats ");
         sb.append(String.format("exchangesCompleted=\"%s\"", exchangesCompleted.getValue()));
@@ -258,7 +280,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", mean));
+        sb.append(String.format(" p50ProcessingTime=\"%s\"", getProcessingTimePercentile(50)));
+        sb.append(String.format(" p95ProcessingTime=\"%s\"", getProcessingTimePercentile(95)));
+        sb.append(String.format(" p99ProcessingTime=\"%s\"", getProcessingTimePercentile(99)));
+        sb.append(String.format(" p999ProcessingTime=\"%s\"", getProcessingTimePercentile(99.9)));
 
         if (fullStats) {
             sb.append(String.format(" resetTimestamp=\"%s\"", dateAsString(resetTimestamp.getValue())));
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedSimpleLanguageMBean;
+import org.apache.camel.language.simple.SimpleLanguage;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed SimpleLanguage")
+public class ManagedSimpleLanguage extends ManagedService implements ManagedSimpleLanguageMBean {
+    private final SimpleLanguage language;
+
+    public ManagedSimpleLanguage(CamelContext context, SimpleLanguage language) {
+        super(context, language);
+        this.language = language;
+    }
+
+    public SimpleLanguage getLanguage() {
+        return language;
+    }
+
+    public boolean isCompile() {
+        return language.isCompile();
+    }
+
+    public int getMaximumCacheSize() {
+        return language.getCacheSize();
+    }
+
+    public int getSize() {
+        return language.getCacheCurrentSize();
+    }
+
+    public long getHits() {
+        return language.getCacheHits();
+    }
+
+    public long getMisses() {
+        return language.getCacheMisses();
+    }
+
+    public long getEvicted() {
+        return language.getCacheEvicted();
+    }
+
+    public double getHitRatio() {
+        long hits = language.getCacheHits();
+        long total = hits + language.getCacheMisses();
+        if (total == 0) {
+            return 0;
+        }
+        return 100.0 * hits / total;
+    }
+
+    public void resetStatistics() {
+        language.resetCacheStatistics();
+    }
+
+    public void purge() {
+        language.clearCache();
+    }
+}
@@ -82,6 +82,26 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getSpoolUsedHeapMemoryLimit();
     }
 
+    public long getOffHeapMemoryLimit() {
+        return streamCachingStrategy.getOffHeapMemoryLimit();
+    }
+
+    public long getOffHeapMemoryAllocated() {
+        return streamCachingStrategy.getOffHeapMemoryAllocated();
+    }
+
+    public long getOffHeapMemoryUsed() {
+        return streamCachingStrategy.getOffHeapMemoryUsed();
+    }
+
+    public void setSpoolMemoryMapped(boolean memoryMapped) {
+        streamCachingStrategy.setSpoolMemoryMapped(memoryMapped);
+    }
+
+    public boolean isSpoolMemoryMapped() {
+        return streamCachingStrategy.isSpoolMemoryMapped();
+    }
+
     public void setBufferSize(int bufferSize) {
         streamCachingStrategy.setBufferSize(bufferSize);
     }
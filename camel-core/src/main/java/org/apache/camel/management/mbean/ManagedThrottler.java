@@ -59,4 +59,8 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public int getThrottledCount() {
         return getThrottler().getDelayedCount();
     }
+
+    public int getThrottledKeysSize() {
+        return getThrottler().getThrottledKeysSize();
+    }
 }
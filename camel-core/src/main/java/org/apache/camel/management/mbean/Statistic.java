@@ -16,8 +16,14 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Default implementation of {@link Statistic}
+ * <p/>
+ * The statistic is lock-free so it can be updated concurrently without contending on a lock.
+ * Counters are striped when updated concurrently, and minimum and maximum values are only
+ * written when the value changes.
  */
 public class Statistic {
 
@@ -45,9 +51,10 @@ public class Statistic {
     }
 
     private final UpdateMode updateMode;
-    private long lastValue;
-    private long value;
-    private long updateCount;
+    private final AtomicLong lastValue = new AtomicLong();
+    private final AtomicLong value = new AtomicLong();
+    private final StripedCounter counter;
+    private final StripedCounter updateCount = new StripedCounter();
 
     /**
      * Instantiates a new statistic.
@@ -58,73 +65,101 @@ public class Statistic {
      */
     public Statistic(String name, Object owner, UpdateMode updateMode) {
         this.updateMode = updateMode;
+        this.counter = updateMode == UpdateMode.COUNTER ? new StripedCounter() : null;
+        this.value.set(initialValue());
     }
 
-    public synchronized void updateValue(long newValue) {
+    public void updateValue(long newValue) {
         switch (this.updateMode) {
         case COUNTER:
-            this.value += newValue;
+            counter.add(newValue);
             break;
         case VALUE:
-            this.value = newValue;
+            value.set(newValue);
             break;
         case DIFFERENCE:
-            this.value -= newValue;
-            if (this.value < 0) {
-                this.value = -this.value;
+            while (true) {
+                long current = value.get();
+                long update = current - newValue;
+                if (update < 0) {
+                    update = -update;
+                }
+                if (value.compareAndSet(current, update)) {
+                    break;
+                }
             }
             break;
         case DELTA:
-            if (updateCount > 0) {
-                this.lastValue = this.value;
+            long old = value.getAndSet(newValue);
+            if (updateCount.sum() > 0) {
+                lastValue.set(old);
             }
-            this.value = newValue;
             break;
         case MAXIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value < newValue) {
-                this.value = newValue;
+            long max = value.get();
+            while (max < newValue && !value.compareAndSet(max, newValue)) {
+                max = value.get();
             }
             break;
         case MINIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value > newValue) {
-                this.value = newValue;
+            long min = value.get();
+            while (min > newValue && !value.compareAndSet(min, newValue)) {
+                min = value.get();
             }
             break;
         default:
         }
-        this.updateCount++;
+        updateCount.increment();
     }
 
-    public synchronized void increment() {
+    public void increment() {
         updateValue(1);
     }
 
-    public synchronized long getValue() {
-        if (updateMode == UpdateMode.DELTA) {
-            if (updateCount == 0) {
-                return this.value;
+    public long getValue() {
+        switch (this.updateMode) {
+        case COUNTER:
+            return counter.sum();
+        case DELTA:
+            if (updateCount.sum() == 0) {
+                return value.get();
             } else {
-                return this.value - this.lastValue;
+                return value.get() - lastValue.get();
             }
-        } else {
-            return this.value;
+        case MAXIMUM:
+        case MINIMUM:
+            long answer = value.get();
+            // not updated yet
+            return answer == initialValue() ? 0 : answer;
+        default:
+            return value.get();
         }
     }
 
-    public synchronized long getUpdateCount() {
-        return this.updateCount;
+    public long getUpdateCount() {
+        return updateCount.sum();
     }
 
-    public synchronized void reset() {
-        this.value = 0;
-        this.lastValue = 0;
-        this.updateCount = 0;
+    public void reset() {
+        if (counter != null) {
+            counter.reset();
+        }
+        this.value.set(initialValue());
+        this.lastValue.set(0);
+        this.updateCount.reset();
+    }
+
+    private long initialValue() {
+        if (updateMode == UpdateMode.MAXIMUM) {
+            return Long.MIN_VALUE;
+        } else if (updateMode == UpdateMode.MINIMUM) {
+            return Long.MAX_VALUE;
+        }
+        return 0;
     }
 
     public String toString() {
-        return "" + value;
+        return "" + getValue();
     }
 
 }
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free counter which is striped across cells when updated concurrently.
+ * <p/>
+ * The counter starts out as a single {@link AtomicLong}, and only when a concurrent update
+ * fails to update it, the cells are allocated, so uncontended counters do not pay for the striping.
+ * Each thread then updates its own cell, and the value is the sum of all the cells.
+ */
+final class StripedCounter {
+
+    // pad the cells so they are on separate cache lines
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes();
+
+    private final AtomicLong base = new AtomicLong();
+    private volatile AtomicLongArray cells;
+
+    public void add(long delta) {
+        AtomicLongArray cs = cells;
+        if (cs == null) {
+            long value = base.get();
+            if (base.compareAndSet(value, value + delta)) {
+                return;
+            }
+            cs = createCells();
+        }
+        int index = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        cs.addAndGet(index * PADDING, delta);
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public long sum() {
+        long sum = base.get();
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cs.get(i * PADDING);
+            }
+        }
+        return sum;
+    }
+
+    public void reset() {
+        base.set(0);
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < STRIPES; i++) {
+                cs.set(i * PADDING, 0);
+            }
+        }
+    }
+
+    private synchronized AtomicLongArray createCells() {
+        if (cells == null) {
+            cells = new AtomicLongArray(STRIPES * PADDING);
+        }
+        return cells;
+    }
+
+    private static int stripes() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int answer = 1;
+        while (answer < processors && answer < 64) {
+            answer <<= 1;
+        }
+        return answer;
+    }
+
+    public String toString() {
+        return "" + sum();
+    }
+}
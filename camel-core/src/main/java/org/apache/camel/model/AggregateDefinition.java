@@ -81,6 +81,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Integer lockStripes;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -213,6 +215,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         // set other options
         answer.setParallelProcessing(isParallelProcessing());
         answer.setOptimisticLocking(isOptimisticLocking());
+        if (getLockStripes() != null) {
+            answer.setLockStripes(getLockStripes());
+        }
         if (getCompletionPredicate() != null) {
             Predicate predicate = getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -470,6 +475,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return optimisticLocking != null && optimisticLocking;
     }
 
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -837,6 +850,19 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Uses lock striping, where the correlation keys are spread over the given number of locks,
+     * which allows exchanges with different correlation keys to be aggregated in parallel
+     * instead of being serialized on a single shared lock.
+     *
+     * @param lockStripes  the number of locks (rounded up to a power of two)
+     * @return the builder
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     public AggregateDefinition optimisticLockRetryPolicy(OptimisticLockRetryPolicy policy) {
         setOptimisticLockRetryPolicy(policy);
         return this;
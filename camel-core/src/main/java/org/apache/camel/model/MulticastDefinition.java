@@ -46,6 +46,10 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
     @XmlAttribute
     private Boolean parallelProcessing;
     @XmlAttribute
+    private Boolean parallelAggregate;
+    @XmlAttribute
+    private Integer maxInflightTasks;
+    @XmlAttribute
     private String strategyRef;
     @XmlAttribute
     private String strategyMethodName;
@@ -155,6 +159,34 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         setParallelProcessing(true);
         return this;
     }
+
+    /**
+     * Aggregates the responses in parallel, by the tasks which does the parallel processing,
+     * instead of by a single thread. The responses are aggregated in the order they are done.
+     * <p/>
+     * The {@link AggregationStrategy} must be thread safe, and associative as an aggregated exchange
+     * can be aggregated as the new exchange with another aggregated exchange.
+     *
+     * @return the builder
+     */
+    public MulticastDefinition parallelAggregate() {
+        setParallelAggregate(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks in flight when using parallel processing, which are the tasks submitted
+     * for processing but not yet aggregated. When the limit is hit, no more tasks are submitted until
+     * the completed tasks have been aggregated, which avoids queuing unbounded tasks
+     * when splitting huge streams.
+     *
+     * @param maxInflightTasks  the maximum number of tasks in flight
+     * @return the builder
+     */
+    public MulticastDefinition maxInflightTasks(int maxInflightTasks) {
+        setMaxInflightTasks(maxInflightTasks);
+        return this;
+    }
     
     /**
      * Aggregates the responses as the are done (e.g. out of order sequence)
@@ -262,6 +294,15 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
 
         MulticastProcessor answer = new MulticastProcessor(routeContext.getCamelContext(), list, strategy, isParallelProcessing(),
                                       threadPool, shutdownThreadPool, isStreaming(), isStopOnException(), timeout, onPrepare, isShareUnitOfWork());
+        if (getParallelAggregate() != null) {
+            if (getParallelAggregate() && !isParallelProcessing()) {
+                throw new IllegalArgumentException("ParallelAggregate is used but ParallelProcessing has not been enabled.");
+            }
+            answer.setParallelAggregate(getParallelAggregate());
+        }
+        if (getMaxInflightTasks() != null) {
+            answer.setMaxInflightTasks(getMaxInflightTasks());
+        }
         if (isShareUnitOfWork()) {
             // wrap answer in a sub unit of work, since we share the unit of work
             CamelInternalProcessor internalProcessor = new CamelInternalProcessor(answer);
@@ -318,6 +359,22 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         return parallelProcessing != null && parallelProcessing;
     }
 
+    public Boolean getParallelAggregate() {
+        return parallelAggregate;
+    }
+
+    public void setParallelAggregate(Boolean parallelAggregate) {
+        this.parallelAggregate = parallelAggregate;
+    }
+
+    public Integer getMaxInflightTasks() {
+        return maxInflightTasks;
+    }
+
+    public void setMaxInflightTasks(Integer maxInflightTasks) {
+        this.maxInflightTasks = maxInflightTasks;
+    }
+
     public Boolean getStreaming() {
         return streaming;
     }
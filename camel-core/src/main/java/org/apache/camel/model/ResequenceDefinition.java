@@ -195,6 +195,24 @@ public class ResequenceDefinition extends ProcessorDefinition<ResequenceDefiniti
 
     }
 
+    /**
+     * Sets the maximum number of exchanges the stream resequencer keeps in memory.
+     * Exchanges above this capacity are spooled to disk, ordered by their sequence number,
+     * until the exchanges in memory have been delivered.
+     * <p/>
+     * This requires the default comparator which uses numeric sequence numbers.
+     *
+     * @param inMemoryCapacity  the in memory capacity
+     * @return the builder
+     */
+    public ResequenceDefinition inMemoryCapacity(int inMemoryCapacity) {
+        if (streamConfig == null) {
+            throw new IllegalStateException("inMemoryCapacity() only supported for stream resequencer");
+        }
+        streamConfig.setInMemoryCapacity(inMemoryCapacity);
+        return this;
+    }
+
     /**
      * Enables duplicates for the batch resequencer mode
      * @return the builder
@@ -400,6 +418,9 @@ public class ResequenceDefinition extends ProcessorDefinition<ResequenceDefiniti
         resequencer.setTimeout(config.getTimeout());
         resequencer.setCapacity(config.getCapacity());
         resequencer.setRejectOld(config.getRejectOld());
+        if (config.getInMemoryCapacity() != null) {
+            resequencer.setInMemoryCapacity(config.getInMemoryCapacity());
+        }
         if (config.getIgnoreInvalidExchanges() != null) {
             resequencer.setIgnoreInvalidExchanges(config.getIgnoreInvalidExchanges());
         }
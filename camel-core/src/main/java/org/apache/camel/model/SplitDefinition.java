@@ -50,6 +50,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     @XmlAttribute
     private Boolean parallelProcessing;
     @XmlAttribute
+    private Boolean parallelAggregate;
+    @XmlAttribute
+    private Integer maxInflightTasks;
+    @XmlAttribute
     private String strategyRef;
     @XmlAttribute
     private String strategyMethodName;
@@ -117,6 +121,15 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing(), threadPool, shutdownThreadPool, isStreaming(), isStopOnException(),
                             timeout, onPrepare, isShareUnitOfWork());
+        if (getParallelAggregate() != null) {
+            if (getParallelAggregate() && !isParallelProcessing()) {
+                throw new IllegalArgumentException("ParallelAggregate is used but ParallelProcessing has not been enabled.");
+            }
+            answer.setParallelAggregate(getParallelAggregate());
+        }
+        if (getMaxInflightTasks() != null) {
+            answer.setMaxInflightTasks(getMaxInflightTasks());
+        }
         if (isShareUnitOfWork()) {
             // wrap answer in a sub unit of work, since we share the unit of work
             CamelInternalProcessor internalProcessor = new CamelInternalProcessor(answer);
@@ -205,6 +218,34 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         setParallelProcessing(true);
         return this;
     }
+
+    /**
+     * Aggregates the responses in parallel, by the tasks which does the parallel processing,
+     * instead of by a single thread. The responses are aggregated in the order they are done.
+     * <p/>
+     * The {@link AggregationStrategy} must be thread safe, and associative as an aggregated exchange
+     * can be aggregated as the new exchange with another aggregated exchange.
+     *
+     * @return the builder
+     */
+    public SplitDefinition parallelAggregate() {
+        setParallelAggregate(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks in flight when using parallel processing, which are the tasks submitted
+     * for processing but not yet aggregated. When the limit is hit, no more tasks are submitted until
+     * the completed tasks have been aggregated, which avoids queuing unbounded tasks
+     * when splitting huge streams.
+     *
+     * @param maxInflightTasks  the maximum number of tasks in flight
+     * @return the builder
+     */
+    public SplitDefinition maxInflightTasks(int maxInflightTasks) {
+        setMaxInflightTasks(maxInflightTasks);
+        return this;
+    }
     
     /**
      * Enables streaming. 
@@ -316,6 +357,22 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return parallelProcessing != null && parallelProcessing;
     }
 
+    public Boolean getParallelAggregate() {
+        return parallelAggregate;
+    }
+
+    public void setParallelAggregate(Boolean parallelAggregate) {
+        this.parallelAggregate = parallelAggregate;
+    }
+
+    public Integer getMaxInflightTasks() {
+        return maxInflightTasks;
+    }
+
+    public void setMaxInflightTasks(Integer maxInflightTasks) {
+        this.maxInflightTasks = maxInflightTasks;
+    }
+
     public Boolean getStreaming() {
         return streaming;
     }
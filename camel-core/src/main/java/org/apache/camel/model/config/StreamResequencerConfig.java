@@ -45,6 +45,8 @@ public class StreamResequencerConfig extends ResequencerConfig {
     private String comparatorRef;
     @XmlAttribute
     private Boolean rejectOld;
+    @XmlAttribute
+    private Integer inMemoryCapacity;
 
     /**
      * Creates a new {@link StreamResequencerConfig} instance using default
@@ -174,4 +176,12 @@ public class StreamResequencerConfig extends ResequencerConfig {
         return rejectOld;
     }
 
+    public Integer getInMemoryCapacity() {
+        return inMemoryCapacity;
+    }
+
+    public void setInMemoryCapacity(Integer inMemoryCapacity) {
+        this.inMemoryCapacity = inMemoryCapacity;
+    }
+
 }
@@ -17,6 +17,7 @@
 package org.apache.camel.processor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Queue;
@@ -70,6 +71,11 @@ import org.slf4j.LoggerFactory;
  * This reduces number of stack frames needed during routing, and reduce the number of lines in stacktraces, as well
  * makes debugging the routing engine easier for end users.
  * <p/>
+ * The advices are kept in an array which is specialized when the advices are added, when the route is being created.
+ * The state of the advices is only kept per exchange if any advice returned a state, and the after callbacks
+ * are skipped entirely when all the advices are {@link AfterWithStateAdvice}s which returned no state,
+ * such as the backlog tracer and debugger when they are disabled.
+ * <p/>
  * <b>Debugging tips:</b> Camel end users whom want to debug their Camel applications with the Camel source code, then make sure to
  * read the source code of this class about the debugging tips, which you can find in the
  * {@link #process(org.apache.camel.Exchange, org.apache.camel.AsyncCallback)} method.
@@ -77,7 +83,12 @@ import org.slf4j.LoggerFactory;
 public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
-    private final List<CamelInternalProcessorAdvice> advices = new ArrayList<CamelInternalProcessorAdvice>();
+    private static final CamelInternalProcessorAdvice[] NO_ADVICES = new CamelInternalProcessorAdvice[0];
+    private static final boolean[] NO_FLAGS = new boolean[0];
+
+    private CamelInternalProcessorAdvice[] advices = NO_ADVICES;
+    // whether the after callback of the advice at the same index is only needed when it has state
+    private boolean[] afterWithState = NO_FLAGS;
 
     public CamelInternalProcessor() {
     }
@@ -92,7 +103,13 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * @param advice  the advice to add
      */
     public void addAdvice(CamelInternalProcessorAdvice advice) {
-        advices.add(advice);
+        int size = advices.length;
+        CamelInternalProcessorAdvice[] newAdvices = Arrays.copyOf(advices, size + 1);
+        boolean[] newAfterWithState = Arrays.copyOf(afterWithState, size + 1);
+        newAdvices[size] = advice;
+        newAfterWithState[size] = advice instanceof AfterWithStateAdvice;
+        afterWithState = newAfterWithState;
+        advices = newAdvices;
     }
 
     /**
@@ -133,11 +150,23 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             return true;
         }
 
-        final List<Object> states = new ArrayList<Object>(advices.size());
-        for (CamelInternalProcessorAdvice task : advices) {
+        final CamelInternalProcessorAdvice[] tasks = advices;
+        final boolean[] flags = afterWithState;
+        Object[] states = null;
+        boolean after = false;
+        for (int i = 0; i < tasks.length; i++) {
             try {
-                Object state = task.before(exchange);
-                states.add(state);
+                Object state = tasks[i].before(exchange);
+                if (state != null) {
+                    // only keep state if there is any
+                    if (states == null) {
+                        states = new Object[tasks.length];
+                    }
+                    states[i] = state;
+                    after = true;
+                } else if (!flags[i]) {
+                    after = true;
+                }
             } catch (Throwable e) {
                 exchange.setException(e);
                 callback.done(true);
@@ -145,8 +174,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             }
         }
 
-        // create internal callback which will execute the advices in reverse order when done
-        callback = new InternalCallback(states, exchange, callback);
+        if (after) {
+            // create internal callback which will execute the advices in reverse order when done
+            callback = new InternalCallback(tasks, flags, states, exchange, callback);
+        }
 
         // UNIT_OF_WORK_PROCESS_SYNC is @deprecated and we should remove it from Camel 3.0
         Object synchronous = exchange.removeProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
@@ -214,13 +245,18 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Internal callback that executes the after advices.
      */
-    private final class InternalCallback implements AsyncCallback {
+    private static final class InternalCallback implements AsyncCallback {
 
-        private final List<Object> states;
+        private final CamelInternalProcessorAdvice[] tasks;
+        private final boolean[] afterWithState;
+        private final Object[] states;
         private final Exchange exchange;
         private final AsyncCallback callback;
 
-        private InternalCallback(List<Object> states, Exchange exchange, AsyncCallback callback) {
+        private InternalCallback(CamelInternalProcessorAdvice[] tasks, boolean[] afterWithState, Object[] states,
+                                 Exchange exchange, AsyncCallback callback) {
+            this.tasks = tasks;
+            this.afterWithState = afterWithState;
             this.states = states;
             this.exchange = exchange;
             this.callback = callback;
@@ -233,11 +269,13 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
             // we should call after in reverse order
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states.get(i);
+                for (int i = tasks.length - 1; i >= 0; i--) {
+                    Object state = states != null ? states[i] : null;
+                    if (state == null && afterWithState[i]) {
+                        continue;
+                    }
                     try {
-                        task.after(exchange, state);
+                        tasks[i].after(exchange, state);
                     } catch (Exception e) {
                         exchange.setException(e);
                         // allow all advices to complete even if there was an exception
@@ -283,6 +321,14 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         return true;
     }
 
+    /**
+     * An advice where the {@link #after(org.apache.camel.Exchange, Object)} callback is only needed when the
+     * {@link #before(org.apache.camel.Exchange)} callback returned a state. This allows the routing engine
+     * to skip the after callback when no state was returned.
+     */
+    public interface AfterWithStateAdvice<T> extends CamelInternalProcessorAdvice<T> {
+    }
+
     /**
      * Advice for JMX instrumentation of the process being invoked.
      * <p/>
@@ -291,7 +337,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * The current implementation of this advice is only used for route level statistics. For processor levels
      * they are still wrapped in the route processor chains.
      */
-    public static class InstrumentationAdvice implements CamelInternalProcessorAdvice<StopWatch> {
+    public static class InstrumentationAdvice implements AfterWithStateAdvice<StopWatch> {
 
         private PerformanceCounter counter;
         private String type;
@@ -353,7 +399,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Advice to inject the current {@link RouteContext} into the {@link UnitOfWork} on the {@link Exchange}
      */
-    public static class RouteContextAdvice implements CamelInternalProcessorAdvice<UnitOfWork> {
+    public static class RouteContextAdvice implements AfterWithStateAdvice<UnitOfWork> {
 
         private final RouteContext routeContext;
 
@@ -482,7 +528,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Advice to execute the {@link BacklogTracer} if enabled.
      */
-    public static final class BacklogTracerAdvice implements CamelInternalProcessorAdvice {
+    public static final class BacklogTracerAdvice implements AfterWithStateAdvice {
 
         private final Queue<DefaultBacklogTracerEventMessage> queue;
         private final BacklogTracer backlogTracer;
@@ -541,7 +587,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Advice to execute the {@link org.apache.camel.processor.interceptor.BacklogDebugger} if enabled.
      */
-    public static final class BacklogDebuggerAdvice implements CamelInternalProcessorAdvice<StopWatch> {
+    public static final class BacklogDebuggerAdvice implements AfterWithStateAdvice<StopWatch> {
 
         private final BacklogDebugger backlogDebugger;
         private final Processor target;
@@ -737,7 +783,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Advice for delaying
      */
-    public static class DelayerAdvice implements CamelInternalProcessorAdvice {
+    public static class DelayerAdvice implements AfterWithStateAdvice {
 
         private final long delay;
 
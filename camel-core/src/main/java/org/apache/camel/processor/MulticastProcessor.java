@@ -31,9 +31,12 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -154,6 +157,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private boolean parallelAggregate;
+    private int maxInflightTasks;
+    private final AtomicInteger inflightTasks = new AtomicInteger();
+    private final AtomicInteger peakInflightTasks = new AtomicInteger();
+    private final AtomicLong inflightWindowFullCount = new AtomicLong();
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -242,7 +250,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         ObjectHelper.notNull(aggregateExecutorService, "AggregateExecutorService", this);
 
         final CompletionService<Exchange> completion;
-        if (streaming) {
+        if (streaming || parallelAggregate) {
             // execute tasks in parallel+streaming and aggregate in the order they are finished (out of order sequence)
             completion = new ExecutorCompletionService<Exchange>(executorService);
         } else {
@@ -252,6 +260,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
         final AtomicInteger total = new AtomicInteger(0);
         final Iterator<ProcessorExchangePair> it = pairs.iterator();
+        // when aggregating in parallel the tasks reduce their results into this partial result
+        final AtomicReference<Exchange> partial = parallelAggregate ? new AtomicReference<Exchange>() : null;
+        // the number of tasks submitted but not yet aggregated can be limited
+        final Semaphore inflight = maxInflightTasks > 0 ? new Semaphore(maxInflightTasks) : null;
 
         if (it.hasNext()) {
             // when parallel then aggregate on the fly
@@ -264,12 +276,21 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             // while we submit new tasks, and those tasks complete concurrently
             // this allows us to optimize work and reduce memory consumption
             final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+                    aggregationOnTheFlyDone, allTasksSubmitted, executionException, partial, inflight);
             final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
 
             LOG.trace("Starting to submit parallel tasks");
 
             while (it.hasNext()) {
+                if (inflight != null) {
+                    // do not pull the next pair until there is room in the window, and stop pulling pairs when we
+                    // are no longer running, such as when timed out or stopped on exception, as they would not be aggregated
+                    if (!acquireInflightTask(inflight, running, aggregationOnTheFlyDone) || !running.get()) {
+                        LOG.debug("Stopped submitting parallel tasks after {} tasks as we are no longer running", total.get());
+                        break;
+                    }
+                }
+
                 final ProcessorExchangePair pair = it.next();
                 final Exchange subExchange = pair.getExchange();
                 updateNewExchange(subExchange, total.intValue(), pairs, it);
@@ -306,6 +327,9 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                                 CamelExchangeException cause = new CamelExchangeException("Parallel processing failed for number " + number, subExchange, subExchange.getException());
                                 subExchange.setException(cause);
                             }
+                        } else if (partial != null && running.get()) {
+                            // aggregate in this thread, in parallel with the other tasks
+                            doAggregateParallel(getAggregationStrategy(subExchange), partial, subExchange);
                         }
 
                         LOG.trace("Parallel processing complete for exchange: {}", subExchange);
@@ -326,6 +350,14 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             LOG.debug("Waiting for on-the-fly aggregation to complete aggregating {} responses for exchangeId: {}", total.get(), original.getExchangeId());
             aggregationOnTheFlyDone.await();
 
+            if (inflight != null) {
+                // the tasks not aggregated, such as when timed out, are no longer in flight
+                int left = maxInflightTasks - inflight.availablePermits();
+                if (left > 0) {
+                    inflightTasks.addAndGet(-left);
+                }
+            }
+
             // did we fail for whatever reason, if so throw that caused exception
             if (executionException.get() != null) {
                 if (LOG.isDebugEnabled()) {
@@ -360,11 +392,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final CountDownLatch aggregationOnTheFlyDone;
         private final AtomicBoolean allTasksSubmitted;
         private final AtomicException executionException;
+        private final AtomicReference<Exchange> partial;
+        private final Semaphore inflight;
 
         private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
                                       CompletionService<Exchange> completion, AtomicBoolean running,
                                       CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+                                      AtomicException executionException, AtomicReference<Exchange> partial, Semaphore inflight) {
             this.result = result;
             this.original = original;
             this.total = total;
@@ -373,6 +407,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
             this.allTasksSubmitted = allTasksSubmitted;
             this.executionException = executionException;
+            this.partial = partial;
+            this.inflight = inflight;
         }
 
         public void run() {
@@ -460,6 +496,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 } else {
                     // there is a result to aggregate
                     Exchange subExchange = future.get();
+                    if (inflight != null) {
+                        inflight.release();
+                        inflightTasks.decrementAndGet();
+                    }
 
                     // Decide whether to continue with the multicast or not; similar logic to the Pipeline
                     Integer number = getExchangeIndex(subExchange);
@@ -473,14 +513,25 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                         break;
                     }
 
-                    // we got a result so aggregate it
-                    AggregationStrategy strategy = getAggregationStrategy(subExchange);
-                    doAggregate(strategy, result, subExchange);
+                    if (partial == null) {
+                        // we got a result so aggregate it
+                        AggregationStrategy strategy = getAggregationStrategy(subExchange);
+                        doAggregate(strategy, result, subExchange);
+                    }
                 }
 
                 aggregated++;
             }
 
+            if (partial != null && !stoppedOnException) {
+                // the tasks has aggregated their results in parallel into the partial result
+                // (take it so any tasks which are timed out cannot change it anymore)
+                Exchange answer = partial.getAndSet(null);
+                if (answer != null) {
+                    result.set(answer);
+                }
+            }
+
             if (timedOut || stoppedOnException) {
                 if (timedOut) {
                     LOG.debug("Cancelling tasks due timeout after {} millis.", timeout);
@@ -494,6 +545,32 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Acquires room for a task in the in flight window, waiting for the on-the-fly aggregation to
+     * aggregate completed tasks if the window is full.
+     *
+     * @return <tt>true</tt> if acquired, or <tt>false</tt> if we are no longer running or the aggregation is already done,
+     *         such as when timed out
+     */
+    private boolean acquireInflightTask(Semaphore inflight, AtomicBoolean running, CountDownLatch aggregationOnTheFlyDone) throws InterruptedException {
+        if (!inflight.tryAcquire()) {
+            inflightWindowFullCount.incrementAndGet();
+            LOG.trace("Waiting for on-the-fly aggregation as there are {} tasks in flight", maxInflightTasks);
+            while (!inflight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                if (!running.get() || aggregationOnTheFlyDone.getCount() == 0) {
+                    return false;
+                }
+            }
+        }
+
+        int current = inflightTasks.incrementAndGet();
+        int peak = peakInflightTasks.get();
+        while (current > peak && !peakInflightTasks.compareAndSet(peak, current)) {
+            peak = peakInflightTasks.get();
+        }
+        return true;
+    }
+
     protected boolean doProcessSequential(Exchange original, AtomicExchange result, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) throws Exception {
         AtomicInteger total = new AtomicInteger();
         Iterator<ProcessorExchangePair> it = pairs.iterator();
@@ -808,6 +885,37 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Aggregate the {@link Exchange} in parallel with other tasks as a parallel reduce.
+     * <p/>
+     * The exchange is aggregated with the partial result, if one is present, otherwise it becomes the
+     * partial result. This is done lock-free so tasks which completes at the same time aggregates their
+     * results concurrently, which requires the {@link AggregationStrategy} to be thread safe and associative,
+     * as the result of an aggregation can be given as the new exchange to aggregate, and in any order.
+     *
+     * @param strategy the aggregation strategy to use
+     * @param partial  the partial result
+     * @param exchange the exchange to be added to the partial result
+     */
+    protected void doAggregateParallel(AggregationStrategy strategy, AtomicReference<Exchange> partial, Exchange exchange) {
+        if (strategy == null) {
+            return;
+        }
+        ExchangeHelper.prepareAggregation(null, exchange);
+        Exchange current = strategy.aggregate(null, exchange);
+        while (current != null) {
+            Exchange other = partial.getAndSet(null);
+            if (other == null) {
+                if (partial.compareAndSet(null, current)) {
+                    return;
+                }
+            } else {
+                ExchangeHelper.prepareAggregation(other, current);
+                current = strategy.aggregate(other, current);
+            }
+        }
+    }
+
     protected void updateNewExchange(Exchange exchange, int index, Iterable<ProcessorExchangePair> allPairs,
                                      Iterator<ProcessorExchangePair> it) {
         exchange.setProperty(Exchange.MULTICAST_INDEX, index);
@@ -1137,6 +1245,67 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    public boolean isParallelAggregate() {
+        return parallelAggregate;
+    }
+
+    /**
+     * Whether to aggregate the results in parallel when using parallel processing.
+     * <p/>
+     * The tasks then aggregate their own results as a parallel reduce, instead of all results being
+     * aggregated one by one by a single thread. This requires the {@link AggregationStrategy} to be thread safe
+     * and associative, as an already aggregated exchange can be given as the new exchange to aggregate.
+     * The results are aggregated in the order they complete, as when using streaming.
+     */
+    public void setParallelAggregate(boolean parallelAggregate) {
+        this.parallelAggregate = parallelAggregate;
+    }
+
+    public int getMaxInflightTasks() {
+        return maxInflightTasks;
+    }
+
+    /**
+     * Sets the maximum number of tasks which can be in flight, submitted but not yet aggregated,
+     * when using parallel processing. When the limit is hit, no more tasks is submitted
+     * until the completed tasks have been aggregated.
+     * <p/>
+     * Is by default <tt>0</tt> which means no limit.
+     */
+    public void setMaxInflightTasks(int maxInflightTasks) {
+        this.maxInflightTasks = maxInflightTasks;
+    }
+
+    /**
+     * Gets the current number of tasks in flight, when using a maximum number of tasks in flight.
+     */
+    public int getInflightTasks() {
+        return inflightTasks.get();
+    }
+
+    /**
+     * Gets the peak number of tasks in flight, when using a maximum number of tasks in flight.
+     */
+    public int getPeakInflightTasks() {
+        return peakInflightTasks.get();
+    }
+
+    /**
+     * Gets the number of times the submission of tasks had to wait, because the maximum number of tasks
+     * were in flight.
+     */
+    public long getInflightWindowFullCount() {
+        return inflightWindowFullCount.get();
+    }
+
+    /**
+     * Resets the peak and window full statistics.
+     */
+    public void resetInflightStatistics() {
+        peakInflightTasks.set(inflightTasks.get());
+        inflightWindowFullCount.set(0);
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
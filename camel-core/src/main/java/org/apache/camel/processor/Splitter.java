@@ -254,7 +254,7 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
         // we do not want attachments for the splitted sub-messages
         answer.getIn().setAttachments(null);
         // we do not want to copy the message history for splitted sub-messages
-        answer.getProperties().remove(Exchange.MESSAGE_HISTORY);
+        answer.removeProperty(Exchange.MESSAGE_HISTORY);
         return answer;
     }
 }
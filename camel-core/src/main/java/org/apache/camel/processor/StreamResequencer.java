@@ -16,6 +16,7 @@
  */
 package org.apache.camel.processor;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -30,11 +31,14 @@ import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
+import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.Traceable;
 import org.apache.camel.impl.LoggingExceptionHandler;
+import org.apache.camel.processor.resequencer.DefaultExchangeComparator;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
 import org.apache.camel.processor.resequencer.SequenceSender;
+import org.apache.camel.processor.resequencer.SequenceSpool;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
@@ -60,6 +64,14 @@ import org.slf4j.LoggerFactory;
  * Instances of this class poll for {@link Exchange}s from a given
  * <code>endpoint</code>. Resequencing work and the delivery of messages to
  * the next <code>processor</code> is done within the single polling thread.
+ * <p>
+ * To bound the memory used for large gaps, an <code>inMemoryCapacity</code> can be
+ * configured when using the {@link DefaultExchangeComparator}. Exchanges with the highest
+ * sequence numbers above this capacity are then spooled to disk using a {@link SequenceSpool},
+ * and loaded back into memory in order, as the exchanges in memory are delivered. The
+ * <code>timeout</code> of a spooled exchange starts when it is loaded back into memory.
+ * Exchanges which cannot be spooled without losing content, such as having a non serializable
+ * header, are rejected with an exception.
  * 
  * @version 
  * 
@@ -73,9 +85,12 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     private final CamelContext camelContext;
     private final ExceptionHandler exceptionHandler;
     private final ResequencerEngine<Exchange> engine;
+    private final SequenceElementComparator<Exchange> comparator;
     private final Processor processor;
     private Delivery delivery;
     private int capacity;
+    private int inMemoryCapacity;
+    private volatile SequenceSpool spool;
     private boolean ignoreInvalidExchanges;
     
     /**
@@ -87,6 +102,7 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     public StreamResequencer(CamelContext camelContext, Processor processor, SequenceElementComparator<Exchange> comparator) {
         ObjectHelper.notNull(camelContext, "CamelContext");
         this.camelContext = camelContext;
+        this.comparator = comparator;
         this.engine = new ResequencerEngine<Exchange>(comparator);
         this.engine.setSequenceSender(this);
         this.processor = processor;
@@ -140,6 +156,29 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         engine.setTimeout(timeout);
     }
 
+    public int getInMemoryCapacity() {
+        return inMemoryCapacity;
+    }
+
+    /**
+     * Sets the maximum number of exchanges to keep in memory. Exchanges above this limit are spooled to disk
+     * until the exchanges in memory have been delivered. This requires the {@link DefaultExchangeComparator}
+     * as the exchanges on disk are ordered by their numeric sequence number.
+     * <p/>
+     * Is by default <tt>0</tt> which means all exchanges are kept in memory.
+     */
+    public void setInMemoryCapacity(int inMemoryCapacity) {
+        this.inMemoryCapacity = inMemoryCapacity;
+    }
+
+    /**
+     * Returns the number of exchanges currently spooled to disk.
+     */
+    public int getSpooledSize() {
+        SequenceSpool current = spool;
+        return current != null ? current.size() : 0;
+    }
+
     public boolean isIgnoreInvalidExchanges() {
         return ignoreInvalidExchanges;
     }
@@ -169,6 +208,13 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
 
     @Override
     protected void doStart() throws Exception {
+        if (inMemoryCapacity > 0) {
+            if (!(comparator instanceof DefaultExchangeComparator)) {
+                throw new IllegalArgumentException("InMemoryCapacity is only supported using the DefaultExchangeComparator, was: " + comparator);
+            }
+            spool = new SequenceSpool(camelContext, camelContext.getStreamCachingStrategy().getSpoolDirectory());
+            LOG.debug("Spooling exchanges above in memory capacity {} to directory: {}", inMemoryCapacity, spool.getDirectory());
+        }
         ServiceHelper.startServices(processor);
         delivery = new Delivery();
         engine.start();
@@ -180,6 +226,13 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         // let's stop everything in the reverse order
         // no need to stop the worker thread -- it will stop automatically when this service is stopped
         engine.stop();
+        if (spool != null) {
+            if (!spool.isEmpty()) {
+                LOG.warn("Discarding {} exchanges spooled to disk while stopping", spool.size());
+            }
+            spool.close();
+            spool = null;
+        }
         ServiceHelper.stopServices(processor);
     }
 
@@ -197,7 +250,18 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     }
 
     public boolean process(Exchange exchange, AsyncCallback callback) {
-        while (engine.size() >= capacity) {
+        if (spool != null) {
+            // fail early if the exchange would lose content if spooled to disk
+            try {
+                spool.checkSpoolable(exchange);
+            } catch (RuntimeExchangeException e) {
+                exchange.setException(e);
+                callback.done(true);
+                return true;
+            }
+        }
+
+        while (engine.size() + getSpooledSize() >= capacity) {
             try {
                 Thread.sleep(getTimeout());
             } catch (InterruptedException e) {
@@ -209,8 +273,10 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         }
 
         try {
-            engine.insert(exchange);
+            insert(exchange);
             delivery.request();
+        } catch (IOException e) {
+            exchange.setException(new CamelExchangeException("Error spooling Exchange to disk in StreamResequencer", exchange, e));
         } catch (Exception e) {
             if (isIgnoreInvalidExchanges()) {
                 LOG.debug("Invalid Exchange. This Exchange will be ignored: {}", exchange);
@@ -223,6 +289,63 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         return true;
     }
 
+    private void insert(Exchange exchange) throws Exception {
+        if (spool == null) {
+            engine.insert(exchange);
+            return;
+        }
+
+        // the spooled exchanges must always have higher sequence numbers than the exchanges in memory
+        // so the engine delivers the exchanges in order
+        synchronized (engine) {
+            long number = getSequenceNumber(exchange);
+            if (!spool.isEmpty() && number > spool.firstSequenceNumber()) {
+                spool.add(number, exchange);
+            } else {
+                engine.insert(exchange);
+                while (engine.size() > inMemoryCapacity) {
+                    Exchange last = engine.removeLast();
+                    try {
+                        spool.add(getSequenceNumber(last), last);
+                    } catch (IOException e) {
+                        // keep the exchange in memory as it has already been accepted
+                        LOG.warn("Error spooling Exchange to disk, will keep it in memory: " + last.getExchangeId(), e);
+                        engine.insert(last);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads spooled exchanges back into memory, when there is room.
+     *
+     * @return <tt>true</tt> if any exchanges was loaded
+     */
+    private boolean loadSpooled() throws Exception {
+        if (spool == null) {
+            return false;
+        }
+
+        boolean answer = false;
+        synchronized (engine) {
+            while (!spool.isEmpty() && engine.size() < inMemoryCapacity) {
+                engine.insert(spool.removeFirst());
+                answer = true;
+            }
+        }
+        return answer;
+    }
+
+    private long getSequenceNumber(Exchange exchange) {
+        Long number = ((DefaultExchangeComparator) comparator).getSequenceNumber(exchange);
+        if (number == null) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + comparator);
+        }
+        return number;
+    }
+
     public boolean hasNext() {
         return processor != null;
     }
@@ -260,6 +383,9 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
                 }
                 try {
                     engine.deliver();
+                    while (loadSpooled()) {
+                        engine.deliver();
+                    }
                 } catch (Throwable t) {
                     // a fail safe to handle all exceptions being thrown
                     getExceptionHandler().handleException(t);
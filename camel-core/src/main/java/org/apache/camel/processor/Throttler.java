@@ -16,7 +16,12 @@
  */
 package org.apache.camel.processor;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.CamelContext;
@@ -35,18 +40,31 @@ import org.apache.camel.util.ObjectHelper;
  * as only allowing 100 requests per second; or if huge load can cause a
  * particular system to malfunction or to reduce its throughput you might want
  * to introduce some throttling.
+ * <p/>
+ * The throttler is implemented as the lock free <i>generic cell rate algorithm</i> (GCRA)
+ * which is the virtual scheduling variant of a token bucket. Up to the maximum number of requests
+ * can pass as a burst, and thereafter the exchanges are spread out evenly over the time period,
+ * instead of being released in chunks when a new time period starts.
+ * <p/>
+ * An optional correlation expression can be configured to throttle per key (for example per customer),
+ * in which case each key has its own independent limit. The keys which are idle are purged in the background.
  *
  * @version
  */
 public class Throttler extends DelayProcessorSupport implements Traceable {
+    private final CamelContext camelContext;
     private volatile long maximumRequestsPerPeriod;
     private Expression maxRequestsPerPeriodExpression;
     private AtomicLong timePeriodMillis = new AtomicLong(1000);
-    private volatile TimeSlot slot;
+    private Expression correlationExpression;
+    private final ThrottleState state = new ThrottleState(System.nanoTime());
+    private final ConcurrentMap<Object, ThrottleState> states = new ConcurrentHashMap<Object, ThrottleState>();
+    private ScheduledExecutorService purgeService;
 
     public Throttler(CamelContext camelContext, Processor processor, Expression maxRequestsPerPeriodExpression, long timePeriodMillis,
                      ScheduledExecutorService executorService, boolean shutdownExecutorService) {
         super(camelContext, processor, executorService, shutdownExecutorService);
+        this.camelContext = camelContext;
 
         ObjectHelper.notNull(maxRequestsPerPeriodExpression, "maxRequestsPerPeriodExpression");
         this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
@@ -99,6 +117,26 @@ public class Throttler extends DelayProcessorSupport implements Traceable {
         this.timePeriodMillis.set(timePeriodMillis);
     }
 
+    public Expression getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    /**
+     * Sets an optional correlation expression which is used to throttle each key individually.
+     * <p/>
+     * Exchanges where the expression evaluates to <tt>null</tt> share the same limit.
+     */
+    public void setCorrelationExpression(Expression correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
+
+    /**
+     * Gets the number of keys currently being throttled individually, when using a correlation expression.
+     */
+    public int getThrottledKeysSize() {
+        return states.size();
+    }
+
     // Implementation methods
     // -----------------------------------------------------------------------
 
@@ -110,90 +148,127 @@ public class Throttler extends DelayProcessorSupport implements Traceable {
         }
 
         // then must convert value to long
+        long max = maximumRequestsPerPeriod;
         Long longValue = exchange.getContext().getTypeConverter().convertTo(Long.class, result);
         if (longValue != null) {
+            max = longValue;
             // log if we changed max period after initial setting
-            if (maximumRequestsPerPeriod > 0 && longValue.longValue() != maximumRequestsPerPeriod) {
-                log.debug("Throttler changed maximum requests per period from {} to {}", maximumRequestsPerPeriod, longValue);
-            }
-            if (maximumRequestsPerPeriod > longValue) {
-                slot.capacity = 0;
+            if (maximumRequestsPerPeriod > 0 && max != maximumRequestsPerPeriod) {
+                log.debug("Throttler changed maximum requests per period from {} to {}", maximumRequestsPerPeriod, max);
             }
-            maximumRequestsPerPeriod = longValue;
+            maximumRequestsPerPeriod = max;
         }
 
-        if (maximumRequestsPerPeriod <= 0) {
-            throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + maximumRequestsPerPeriod);
+        if (max <= 0) {
+            throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + max);
+        }
+
+        long now = System.nanoTime();
+        long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis.get());
+        ThrottleState target = state;
+        if (correlationExpression != null) {
+            Object key = correlationExpression.evaluate(exchange, Object.class);
+            if (key != null) {
+                target = getOrCreateThrottleState(key, now);
+            }
         }
 
-        TimeSlot slot = nextSlot();
-        if (!slot.isActive()) {
-            long delay = slot.startTime - currentSystemTime();
-            return delay;
-        } else {
+        long wait = target.acquire(now, max, period);
+        if (wait <= 0) {
             return 0;
         }
+        // round up so we never let exchanges through too early
+        return TimeUnit.NANOSECONDS.toMillis(wait + TimeUnit.MILLISECONDS.toNanos(1) - 1);
     }
 
-    /*
-     * Determine what the next available time slot is for handling an Exchange
-     */
-    protected synchronized TimeSlot nextSlot() {
-        if (slot == null) {
-            slot = new TimeSlot();
-        }
-        if (slot.isFull() || !slot.isPast()) {
-            slot = slot.next();
+    private ThrottleState getOrCreateThrottleState(Object key, long now) {
+        ThrottleState answer = states.get(key);
+        if (answer == null) {
+            ThrottleState created = new ThrottleState(now);
+            answer = states.putIfAbsent(key, created);
+            if (answer == null) {
+                answer = created;
+            }
         }
-        slot.assign();
-        return slot;
+        return answer;
     }
 
-    /*
-    * A time slot is capable of handling a number of exchanges within a certain period of time.
-    */
-    protected class TimeSlot {
-
-        private volatile long capacity = Throttler.this.maximumRequestsPerPeriod;
-        private final long duration = Throttler.this.timePeriodMillis.get();
-        private final long startTime;
-
-        protected TimeSlot() {
-            this(System.currentTimeMillis());
+    /**
+     * Removes the states of the keys which have been idle long enough to have their full burst capacity again,
+     * as they behave exactly as a newly created state.
+     */
+    void purgeIdleStates() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Object, ThrottleState>> it = states.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Object, ThrottleState> entry = it.next();
+            if (entry.getValue().isIdle(now)) {
+                // only remove if not concurrently replaced
+                states.remove(entry.getKey(), entry.getValue());
+            }
         }
+    }
 
-        protected TimeSlot(long startTime) {
-            this.startTime = startTime;
+    @Override
+    protected void doStart() throws Exception {
+        if (correlationExpression != null) {
+            // purge the idle keys in the background every time period, so the exchanges being throttled do not pay for it
+            purgeService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "ThrottlerPurgeIdleKeys");
+            long period = timePeriodMillis.get();
+            purgeService.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    purgeIdleStates();
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
         }
+        super.doStart();
+    }
 
-        protected void assign() {
-            capacity--;
+    @Override
+    protected void doStop() throws Exception {
+        if (purgeService != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(purgeService);
+            purgeService = null;
         }
+        states.clear();
+        super.doStop();
+    }
 
-        /*
-         * Start the next time slot either now or in the future
-         * (no time slots are being created in the past)
-         */
-        protected TimeSlot next() {
-            return new TimeSlot(Math.max(System.currentTimeMillis(), this.startTime + this.duration));
-        }
+    /**
+     * The GCRA state which is the <i>theoretical arrival time</i> of the next exchange,
+     * updated using compare and set so no locking is needed.
+     */
+    static final class ThrottleState {
+        private final AtomicLong theoreticalArrivalTime;
 
-        protected boolean isPast() {
-            long current = System.currentTimeMillis();
-            return current < (startTime + duration);
+        ThrottleState(long now) {
+            this.theoreticalArrivalTime = new AtomicLong(now);
         }
 
-        protected boolean isActive() {
-            long current = System.currentTimeMillis();
-            return startTime <= current && current < (startTime + duration);
+        /**
+         * Reserves the next permit.
+         *
+         * @param now          current time in nanos
+         * @param permits      maximum number of permits per period
+         * @param period       the period in nanos
+         * @return the time in nanos to wait before the permit can be used, or <tt>0</tt> or negative to not wait
+         */
+        long acquire(long now, long permits, long period) {
+            long interval = Math.max(1, period / permits);
+            // allow a burst of the permits within the period
+            long tolerance = period - interval;
+            while (true) {
+                long tat = theoreticalArrivalTime.get();
+                // compare using subtraction as nano time may overflow
+                long next = (tat - now > 0 ? tat : now) + interval;
+                if (theoreticalArrivalTime.compareAndSet(tat, next)) {
+                    return tat - tolerance - now;
+                }
+            }
         }
 
-        protected boolean isFull() {
-            return capacity <= 0;
+        boolean isIdle(long now) {
+            return theoreticalArrivalTime.get() - now <= 0;
         }
     }
-
-    TimeSlot getSlot() {
-        return this.slot;
-    }
 }
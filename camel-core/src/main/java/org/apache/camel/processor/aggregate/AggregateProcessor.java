@@ -86,6 +86,8 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
     private final Lock lock = new ReentrantLock();
+    // the striped locks which is used instead of the shared lock when lock striping is enabled
+    private Lock[] stripedLocks;
     private final CamelContext camelContext;
     private final Processor processor;
     private AggregationStrategy aggregationStrategy;
@@ -115,6 +117,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -248,12 +251,15 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             // when memory based then its fast using synchronized, but if the aggregation repository is IO
             // bound such as JPA etc then concurrent aggregation per correlation key could
             // improve performance as we can run aggregation repository get/add in parallel
+            // when lock striping is enabled then we only lock the segment of the correlation key,
+            // which allows different correlation keys to be aggregated in parallel
             List<Exchange> aggregated = null;
-            lock.lock();
+            Lock keyLock = getLock(key);
+            keyLock.lock();
             try {
                 aggregated = doAggregation(key, copy);
             } finally {
-                lock.unlock();
+                keyLock.unlock();
             }
 
             // we are completed so do that work outside the lock
@@ -271,11 +277,54 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Gets the lock to use when aggregating the given correlation key
+     *
+     * @param key the correlation key
+     * @return the shared lock, or the lock of the segment of the correlation key if lock striping is enabled
+     */
+    private Lock getLock(String key) {
+        if (stripedLocks == null) {
+            return lock;
+        }
+        // spread the hash code as the number of stripes is a power of two
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripedLocks[hash & (stripedLocks.length - 1)];
+    }
+
+    /**
+     * Acquires the shared lock, or all the striped locks if lock striping is enabled
+     */
+    private void lockAll() {
+        if (stripedLocks == null) {
+            lock.lock();
+        } else {
+            // always acquire in the same order to avoid deadlocks
+            for (Lock stripe : stripedLocks) {
+                stripe.lock();
+            }
+        }
+    }
+
+    /**
+     * Releases the lock(s) acquired by {@link #lockAll()}
+     */
+    private void unlockAll() {
+        if (stripedLocks == null) {
+            lock.unlock();
+        } else {
+            for (int i = stripedLocks.length - 1; i >= 0; i--) {
+                stripedLocks[i].unlock();
+            }
+        }
+    }
+
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
      * This method <b>must</b> be run synchronized as we cannot aggregate the same correlation key
-     * in parallel.
+     * in parallel, using either the shared lock or the striped lock of the correlation key.
      * <p/>
      * The returned {@link Exchange} should be send downstream using the {@link #onSubmitCompletion(String, org.apache.camel.Exchange)}
      * method which sends out the aggregated and completed {@link Exchange}.
@@ -709,6 +758,20 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of locks to stripe the correlation keys over, which allows exchanges with different
+     * correlation keys to be aggregated in parallel. The number is rounded up to a power of two.
+     * <p/>
+     * The default value is <tt>0</tt> which means a single shared lock is used for all correlation keys.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -821,11 +884,11 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         @Override
         public void purge() {
             // must acquire the shared aggregation lock to be able to purge
-            if (!optimisticLocking) { lock.lock(); }
+            if (!optimisticLocking) { lockAll(); }
             try {
                 super.purge();
             } finally {
-                if (!optimisticLocking) { lock.unlock(); }
+                if (!optimisticLocking) { unlockAll(); }
             }
         }
 
@@ -884,7 +947,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                if (!optimisticLocking) { lock.lock(); }
+                if (!optimisticLocking) { lockAll(); }
                 try {
                     for (String key : keys) {
                         boolean stolenInterval = false;
@@ -909,7 +972,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                         }
                     }
                 } finally {
-                    if (!optimisticLocking) { lock.unlock(); }
+                    if (!optimisticLocking) { unlockAll(); }
                 }
             }
 
@@ -1046,6 +1109,21 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (lockStripes > 1 && !optimisticLocking) {
+            if (isCompletionFromBatchConsumer()) {
+                throw new IllegalArgumentException("Lock striping cannot be used together with completionFromBatchConsumer");
+            }
+            int stripes = 1;
+            while (stripes < lockStripes) {
+                stripes <<= 1;
+            }
+            stripedLocks = new Lock[stripes];
+            for (int i = 0; i < stripes; i++) {
+                stripedLocks[i] = new ReentrantLock();
+            }
+            LOG.info("Using lock striping with " + stripes + " locks");
+        }
+
         ServiceHelper.startServices(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1197,7 +1275,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            if (!optimisticLocking) { lock.lock(); }
+            if (!optimisticLocking) { lockAll(); }
             total = keys.size();
             try {
                 for (String key : keys) {
@@ -1213,7 +1291,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                     }
                 }
             } finally {
-                if (!optimisticLocking) { lock.unlock(); }
+                if (!optimisticLocking) { unlockAll(); }
             }
         }
         LOG.trace("Completed force completion of all groups task");
@@ -16,13 +16,28 @@
  */
 package org.apache.camel.processor.idempotent;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
@@ -40,17 +55,38 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * Care should be taken to use a suitable underlying {@link java.util.Map} to avoid this class being a
  * memory leak.
+ * <p/>
+ * The file store is used as an append only journal which is kept open while the repository is started,
+ * and when the journal hits the max file store size, its compacted by writing the 1st level cache
+ * to a new file which then replaces the file store.
+ * <p/>
+ * When a {@link CamelContext} is set, such as when the repository is used by the idempotent consumer,
+ * the compaction is done in the background using a thread from the {@link org.apache.camel.spi.ExecutorServiceManager},
+ * while new keys are appended to the journal meanwhile. A <tt>syncInterval</tt> can then be configured to
+ * buffer the appended keys, and flush and sync the journal to disk in the background at the given interval
+ * (group commit).
  *
  * @version 
  */
 @ManagedResource(description = "File based idempotent repository")
-public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String>, CamelContextAware {
     private static final Logger LOG = LoggerFactory.getLogger(FileIdempotentRepository.class);
     private static final String STORE_DELIMITER = "\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private CamelContext camelContext;
     private Map<String, Object> cache;
     private File fileStore;
     private long maxFileStoreSize = 1024 * 1000L; // 1mb store file
+    private long syncInterval;
     private AtomicBoolean init = new AtomicBoolean();
+    private volatile ScheduledExecutorService executorService;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    // incremented whenever the file store is replaced, guarded by the cache
+    private int generation;
+    // the open journal we append to, and its current size
+    private FileOutputStream journalFile;
+    private OutputStream journal;
+    private long journalSize = -1;
 
     public FileIdempotentRepository() {
         // default use a 1st level cache 
@@ -118,9 +154,13 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
                 return false;
             } else {
                 cache.put(key, key);
-                if (fileStore.length() < maxFileStoreSize) {
+                if (getJournalSize() < maxFileStoreSize) {
                     // just append to store
                     appendToStore(key);
+                } else if (executorService != null) {
+                    // append to store and let the store be compacted in the background
+                    appendToStore(key);
+                    scheduleCompactStore();
                 } else {
                     // trunk store and flush the cache
                     trunkStore();
@@ -154,6 +194,14 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         return true;
     }
 
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
     public File getFileStore() {
         return fileStore;
     }
@@ -190,6 +238,23 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.maxFileStoreSize = maxFileStoreSize;
     }
 
+    @ManagedAttribute(description = "The interval in millis for flushing and syncing the file store to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the interval in millis for flushing and syncing the appended keys to disk in the background,
+     * so many keys are synced to disk at once. The keys added within the last interval may be lost
+     * if the JVM or OS crashes.
+     * <p/>
+     * The default is 0, which means each key is written to the file store when added, without syncing.
+     * A {@link CamelContext} is required for syncing in the background, if not set this option is not in use.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
     /**
      * Sets the cache size
      */
@@ -228,36 +293,26 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      */
     protected void appendToStore(final String messageId) {
         LOG.debug("Appending {} to idempotent filestore: {}", messageId, fileStore);
-        FileOutputStream fos = null;
         try {
-            // create store parent directory if missing
-            File storeParentDirectory = fileStore.getParentFile();
-            if (storeParentDirectory != null && !storeParentDirectory.exists()) {
-                LOG.info("Parent directory of file store {} doesn't exist. Creating.", fileStore);
-                if (fileStore.getParentFile().mkdirs()) {
-                    LOG.info("Parent directory of file store {} successfully created.", fileStore);
-                } else {
-                    LOG.warn("Parent directory of file store {} cannot be created.", fileStore);
-                }
+            if (journal == null) {
+                journal = openJournal();
             }
-            // create store if missing
-            if (!fileStore.exists()) {
-                FileUtil.createNewFile(fileStore);
-            }
-            // append to store
-            fos = new FileOutputStream(fileStore, true);
-            fos.write(messageId.getBytes());
-            fos.write(STORE_DELIMITER.getBytes());
+            // write the message id and delimiter in one go
+            byte[] data = (messageId + STORE_DELIMITER).getBytes();
+            journal.write(data);
+            journalSize += data.length;
         } catch (IOException e) {
+            closeJournal();
             throw ObjectHelper.wrapRuntimeCamelException(e);
-        } finally {
-            IOHelper.close(fos, "Appending to file idempotent repository", LOG);
         }
     }
 
     /**
      * Trunks the file store when the max store size is hit by rewriting the 1st level cache
      * to the file store.
+     * <p/>
+     * The cache is written to a temporary file which then replaces the file store, so the file store
+     * is not lost if the JVM crashes while trunking.
      */
     protected void trunkStore() {
         if (fileStore == null || !fileStore.exists()) {
@@ -265,13 +320,20 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         }
 
         LOG.info("Trunking idempotent filestore: {}", fileStore);
+        // the journal must be closed before we can replace the file store
+        closeJournal();
+
+        File tmp = new File(fileStore.getPath() + ".tmp");
         FileOutputStream fos = null;
         try {
-            fos = new FileOutputStream(fileStore);
-            for (String key : cache.keySet()) {
-                fos.write(key.getBytes());
-                fos.write(STORE_DELIMITER.getBytes());
-            }
+            fos = new FileOutputStream(tmp);
+            OutputStream out = new BufferedOutputStream(fos, BUFFER_SIZE);
+            writeKeys(cache.keySet(), out);
+            out.flush();
+            fos.getFD().sync();
+            fos.close();
+            fos = null;
+            replaceStore(tmp);
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
         } finally {
@@ -279,6 +341,200 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         }
     }
 
+    /**
+     * Compacts the file store the same way as {@link #trunkStore()}, but without blocking adding keys
+     * while the 1st level cache is written to the temporary file.
+     * <p/>
+     * The keys appended to the journal while writing the temporary file are copied to the end of the
+     * temporary file, before it replaces the file store.
+     */
+    protected void compactStore() {
+        List<String> keys;
+        long position;
+        int expected;
+        synchronized (cache) {
+            if (fileStore == null || !fileStore.exists()) {
+                return;
+            }
+            LOG.info("Compacting idempotent filestore: {}", fileStore);
+            flushJournal();
+            keys = new ArrayList<String>(cache.keySet());
+            position = getJournalSize();
+            expected = generation;
+        }
+
+        File tmp = new File(fileStore.getPath() + ".compact");
+        FileOutputStream fos = null;
+        try {
+            fos = new FileOutputStream(tmp);
+            OutputStream out = new BufferedOutputStream(fos, BUFFER_SIZE);
+            writeKeys(keys, out);
+
+            synchronized (cache) {
+                if (expected != generation) {
+                    // the store was trunked meanwhile, such as when removing a key
+                    LOG.debug("Idempotent filestore was trunked while compacting: {}", fileStore);
+                    return;
+                }
+                flushJournal();
+                // copy the keys appended while we wrote the temporary file
+                RandomAccessFile raf = new RandomAccessFile(fileStore, "r");
+                try {
+                    raf.seek(position);
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int len;
+                    while ((len = raf.read(buffer)) != -1) {
+                        out.write(buffer, 0, len);
+                    }
+                } finally {
+                    IOHelper.close(raf);
+                }
+                out.flush();
+                fos.getFD().sync();
+                fos.close();
+                fos = null;
+                closeJournal();
+                replaceStore(tmp);
+            }
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        } finally {
+            IOHelper.close(fos, "Compacting file idempotent repository", LOG);
+            if (tmp.exists()) {
+                FileUtil.deleteFile(tmp);
+            }
+        }
+    }
+
+    private void scheduleCompactStore() {
+        if (!compacting.compareAndSet(false, true)) {
+            // already compacting
+            return;
+        }
+        try {
+            executorService.submit(new Runnable() {
+                public void run() {
+                    try {
+                        compactStore();
+                    } catch (Throwable e) {
+                        LOG.warn("Error compacting idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                    } finally {
+                        compacting.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // we are stopping so trunk the store now
+            compacting.set(false);
+            trunkStore();
+        }
+    }
+
+    private void writeKeys(Collection<String> keys, OutputStream out) throws IOException {
+        for (String key : keys) {
+            out.write((key + STORE_DELIMITER).getBytes());
+        }
+    }
+
+    private void replaceStore(File tmp) throws IOException {
+        // rename replaces the file store atomically on most OS, but some OS such as Windows
+        // cannot rename to an existing file, so we need to delete the file store first
+        if (!tmp.renameTo(fileStore)) {
+            FileUtil.deleteFile(fileStore);
+            if (!FileUtil.renameFile(tmp, fileStore, true)) {
+                throw new IOException("Cannot rename " + tmp + " to idempotent filestore: " + fileStore);
+            }
+        }
+        generation++;
+    }
+
+    /**
+     * Opens the file store as a journal which we append to
+     */
+    private OutputStream openJournal() throws IOException {
+        // create store parent directory if missing
+        File storeParentDirectory = fileStore.getParentFile();
+        if (storeParentDirectory != null && !storeParentDirectory.exists()) {
+            LOG.info("Parent directory of file store {} doesn't exist. Creating.", fileStore);
+            if (fileStore.getParentFile().mkdirs()) {
+                LOG.info("Parent directory of file store {} successfully created.", fileStore);
+            } else {
+                LOG.warn("Parent directory of file store {} cannot be created.", fileStore);
+            }
+        }
+        // create store if missing
+        if (!fileStore.exists()) {
+            FileUtil.createNewFile(fileStore);
+        }
+        journalFile = new FileOutputStream(fileStore, true);
+        journalSize = fileStore.length();
+        if (isSyncInBackground()) {
+            // buffer the keys until flushed and synced in the background
+            return new BufferedOutputStream(journalFile, BUFFER_SIZE);
+        }
+        return journalFile;
+    }
+
+    private void flushJournal() {
+        if (journal != null) {
+            try {
+                journal.flush();
+            } catch (IOException e) {
+                closeJournal();
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+    }
+
+    /**
+     * Flushes the journal and syncs it to disk, without blocking adding keys while syncing.
+     */
+    private void syncJournal() throws IOException {
+        FileChannel channel;
+        synchronized (cache) {
+            if (journal == null) {
+                return;
+            }
+            journal.flush();
+            channel = journalFile.getChannel();
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            // the journal was closed meanwhile which syncs it
+        }
+    }
+
+    private void closeJournal() {
+        if (journal != null && isSyncInBackground()) {
+            try {
+                journal.flush();
+                journalFile.getFD().sync();
+            } catch (IOException e) {
+                LOG.warn("Error syncing idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+            }
+        }
+        IOHelper.close(journal, "Appending to file idempotent repository", LOG);
+        journal = null;
+        journalFile = null;
+        journalSize = -1;
+    }
+
+    private boolean isSyncInBackground() {
+        return executorService != null && syncInterval > 0;
+    }
+
+    /**
+     * Gets the current size of the file store, which we keep track of when appending
+     * to avoid looking up the file size on every add.
+     */
+    private long getJournalSize() {
+        if (journalSize < 0) {
+            return fileStore.exists() ? fileStore.length() : 0;
+        }
+        return journalSize;
+    }
+
     /**
      * Loads the given file store into the 1st level cache
      */
@@ -290,38 +546,84 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         LOG.trace("Loading to 1st level cache from idempotent filestore: {}", fileStore);
 
         cache.clear();
-        Scanner scanner = null;
+        InputStream is = null;
         try {
-            scanner = new Scanner(fileStore);
-            scanner.useDelimiter(STORE_DELIMITER);
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                cache.put(line, line);
+            is = new FileInputStream(fileStore);
+            // scan the bytes for the delimiters, instead of decoding all the content to find the lines
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int len = 0;
+            int n;
+            while ((n = is.read(buffer, len, buffer.length - len)) != -1) {
+                int start = 0;
+                for (int i = len; i < len + n; i++) {
+                    if (buffer[i] == '\n') {
+                        addLoadedKey(buffer, start, i);
+                        start = i + 1;
+                    }
+                }
+                // keep the incomplete line for the next read
+                len = len + n - start;
+                System.arraycopy(buffer, start, buffer, 0, len);
+                if (len == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            if (len > 0) {
+                addLoadedKey(buffer, 0, len);
             }
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            IOHelper.close(is, "Loading file idempotent repository", LOG);
         }
 
         LOG.debug("Loaded {} to the 1st level cache from idempotent filestore: {}", cache.size(), fileStore);
     }
 
+    private void addLoadedKey(byte[] buffer, int start, int end) {
+        // the store may have windows line endings
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        String key = new String(buffer, start, end - start);
+        cache.put(key, key);
+    }
+
     @Override
     protected void doStart() throws Exception {
         // init store if not loaded before
         if (init.compareAndSet(false, true)) {
             loadStore();
         }
+        if (camelContext != null && executorService == null) {
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "FileIdempotentRepository");
+            if (syncInterval > 0) {
+                executorService.scheduleWithFixedDelay(new Runnable() {
+                    public void run() {
+                        try {
+                            syncJournal();
+                        } catch (Throwable e) {
+                            LOG.warn("Error syncing idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                        }
+                    }
+                }, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+            }
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
-        // reset will trunk and clear the cache
-        trunkStore();
-        cache.clear();
+        if (executorService != null) {
+            // let any compaction in progress complete
+            camelContext.getExecutorServiceManager().shutdownGraceful(executorService);
+        }
+        synchronized (cache) {
+            // reset will trunk and clear the cache
+            trunkStore();
+            closeJournal();
+            executorService = null;
+            cache.clear();
+        }
         init.set(false);
     }
 
@@ -17,6 +17,8 @@
 package org.apache.camel.processor.idempotent;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
@@ -30,20 +32,31 @@ import org.apache.camel.util.LRUCache;
  * <p/>
  * Care should be taken to use a suitable underlying {@link Map} to avoid this class being a
  * memory leak.
+ * <p/>
+ * When the underlying {@link Map} is a {@link LRUCache} (the default) or a {@link ConcurrentMap} then
+ * the store is accessed without synchronization, which allows many concurrent consumers to use
+ * this repository without contention. Otherwise access to the {@link Map} is synchronized.
+ * <p/>
+ * The option <tt>timeToLive</tt> can be used to let the keys expire after a period of time,
+ * after which they are regarded as not being in the store.
  *
  * @version 
  */
 @ManagedResource(description = "Memory based idempotent repository")
 public class MemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
-    private Map<String, Object> cache;
+    private volatile Map<String, Object> cache;
+    private volatile boolean concurrent;
     private int cacheSize;
+    private long timeToLive;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
 
     public MemoryIdempotentRepository() {
-        this.cache = new LRUCache<String, Object>(1000);
+        this(new LRUCache<String, Object>(1000));
     }
 
     public MemoryIdempotentRepository(Map<String, Object> set) {
-        this.cache = set;
+        setCache(set);
     }
 
     /**
@@ -78,11 +91,31 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
 
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(String key) {
+        Map<String, Object> cache = this.cache;
+        // when using time to live we store the time the key expires, otherwise just the key
+        Object value = timeToLive > 0 ? (Object) (System.currentTimeMillis() + timeToLive) : key;
+
+        if (concurrent) {
+            Object existing = putIfAbsent(cache, key, value);
+            if (existing == null) {
+                misses.incrementAndGet();
+                return true;
+            } else if (!isExpired(existing)) {
+                hits.incrementAndGet();
+                return false;
+            }
+            // the existing key has expired, which is rare, so we replace it under the lock, this is safe
+            // as the key is never absent in the store, so others will either see the expired or the new key
+        }
+
         synchronized (cache) {
-            if (cache.containsKey(key)) {
+            Object existing = cache.get(key);
+            if (existing != null && !isExpired(existing)) {
+                hits.incrementAndGet();
                 return false;
             } else {
-                cache.put(key, key);
+                cache.put(key, value);
+                misses.incrementAndGet();
                 return true;
             }
         }
@@ -90,13 +123,31 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
 
     @ManagedOperation(description = "Does the store contain the given key")
     public boolean contains(String key) {
-        synchronized (cache) {
-            return cache.containsKey(key);
+        Map<String, Object> cache = this.cache;
+        Object existing;
+        if (concurrent) {
+            existing = cache.get(key);
+        } else {
+            synchronized (cache) {
+                existing = cache.get(key);
+            }
+        }
+
+        if (existing != null && !isExpired(existing)) {
+            hits.incrementAndGet();
+            return true;
+        } else {
+            misses.incrementAndGet();
+            return false;
         }
     }
 
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
+        Map<String, Object> cache = this.cache;
+        if (concurrent) {
+            return cache.remove(key) != null;
+        }
         synchronized (cache) {
             return cache.remove(key) != null;
         }
@@ -111,6 +162,11 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
         return cache;
     }
 
+    private void setCache(Map<String, Object> cache) {
+        this.concurrent = cache instanceof LRUCache || cache instanceof ConcurrentMap;
+        this.cache = cache;
+    }
+
     @ManagedAttribute(description = "The current cache size")
     public int getCacheSize() {
         return cache.size();
@@ -120,10 +176,63 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
         this.cacheSize = cacheSize;
     }
 
+    @ManagedAttribute(description = "Time to live in millis before a key expires")
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time to live in millis after which a key is expired and no longer regarded as being in the store.
+     * <p/>
+     * The default value is <tt>0</tt> which means the keys does not expire.
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key was in the store")
+    public long getHits() {
+        return hits.get();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key was not in the store")
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @ManagedAttribute(description = "Number of keys evicted from the store")
+    public long getEvicted() {
+        Map<String, Object> cache = this.cache;
+        return cache instanceof LRUCache ? ((LRUCache<String, Object>) cache).getEvicted() : 0;
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        Map<String, Object> cache = this.cache;
+        if (cache instanceof LRUCache) {
+            ((LRUCache<String, Object>) cache).resetStatistics();
+        }
+    }
+
+    private boolean isExpired(Object value) {
+        // the value is the expire time when using time to live
+        return value instanceof Long && ((Long) value) < System.currentTimeMillis();
+    }
+
+    private static Object putIfAbsent(Map<String, Object> cache, String key, Object value) {
+        if (cache instanceof LRUCache) {
+            return ((LRUCache<String, Object>) cache).putIfAbsent(key, value);
+        } else {
+            return ((ConcurrentMap<String, Object>) cache).putIfAbsent(key, value);
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (cacheSize > 0) {
-            cache = new LRUCache<String, Object>(cacheSize);
+            setCache(new LRUCache<String, Object>(cacheSize));
         }
     }
 
@@ -56,7 +56,13 @@ public class DefaultExchangeComparator implements ExpressionResultComparator {
         return n1.compareTo(n2);
     }
 
-    private Long getSequenceNumber(Exchange exchange) {
+    /**
+     * Gets the sequence number of the given exchange
+     *
+     * @param exchange the exchange
+     * @return the sequence number
+     */
+    public Long getSequenceNumber(Exchange exchange) {
         return expression.evaluate(exchange, Long.class);
     }
 
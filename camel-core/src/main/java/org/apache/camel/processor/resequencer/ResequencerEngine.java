@@ -233,6 +233,22 @@ public class ResequencerEngine<E> {
         }
     }
 
+    /**
+     * Removes the element with the highest sequence value from this resequencer,
+     * cancelling its timeout if scheduled. This is used for moving elements out of
+     * memory when the resequencer overflows.
+     *
+     * @return the removed element or <code>null</code> if this resequencer is empty.
+     */
+    public synchronized E removeLast() {
+        if (sequence.isEmpty()) {
+            return null;
+        }
+        Element<E> element = sequence.pollLast();
+        element.cancel();
+        return element.getObject();
+    }
+
     /**
      * Delivers all elements which are currently ready to deliver.
      *
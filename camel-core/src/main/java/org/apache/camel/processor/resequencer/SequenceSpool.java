@@ -0,0 +1,411 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.converter.stream.InputStreamCache;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * A disk based store for {@link Exchange}s which overflow the in-memory capacity of
+ * a stream resequencer, ordered by their numeric sequence number.
+ * <p/>
+ * The exchanges are marshalled using {@link DefaultExchangeHolder} together with the exchange pattern,
+ * from endpoint and from route id. Only exchanges which can be spooled without losing any content are
+ * accepted, see {@link #checkSpoolable(Exchange)}. Stream bodies are read into memory when spooled, and
+ * are loaded back as a {@link StreamCache}.
+ * <p/>
+ * The order is maintained by an in-memory binary heap of primitive <tt>long</tt> sequence numbers and
+ * file positions, so the only heap used per spooled exchange is a few bytes.
+ * <p/>
+ * The exchanges are appended to segment files of a given size. A segment file is deleted when all
+ * its exchanges have been removed, and the current segment file is truncated when it becomes empty,
+ * so the disk space is reclaimed while the spool is in use.
+ *
+ * @version
+ */
+public class SequenceSpool {
+
+    public static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final CamelContext camelContext;
+    private final File directory;
+    private final long segmentSize;
+    private final Map<Integer, Segment> segments = new HashMap<Integer, Segment>();
+    private Segment current;
+    private int nextSegmentId;
+    private long[] sequenceNumbers = new long[INITIAL_CAPACITY];
+    private int[] segmentIds = new int[INITIAL_CAPACITY];
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Creates a new spool using segment files of the default size in the given directory.
+     *
+     * @param camelContext the camel context
+     * @param directory    the spool directory, or <tt>null</tt> to use the default temporary directory
+     */
+    public SequenceSpool(CamelContext camelContext, File directory) {
+        this(camelContext, directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a new spool using segment files in the given directory.
+     *
+     * @param camelContext the camel context
+     * @param directory    the spool directory, or <tt>null</tt> to use the default temporary directory
+     * @param segmentSize  the size in bytes at which a new segment file is started
+     */
+    public SequenceSpool(CamelContext camelContext, File directory, long segmentSize) {
+        this.camelContext = camelContext;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Gets the spool directory, or <tt>null</tt> if using the default temporary directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the number of segment files in use
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Gets the number of bytes used on disk by the segment files
+     */
+    public synchronized long getDiskSize() {
+        long answer = 0;
+        for (Segment segment : segments.values()) {
+            answer += segment.length;
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the number of spooled exchanges
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the lowest sequence number in this spool.
+     *
+     * @throws IllegalStateException if the spool is empty
+     */
+    public synchronized long firstSequenceNumber() {
+        if (size == 0) {
+            throw new IllegalStateException("Spool is empty");
+        }
+        return sequenceNumbers[0];
+    }
+
+    /**
+     * Checks whether the exchange can be spooled without losing any of its content.
+     * <p/>
+     * The bodies and headers must be serializable, or the in body a stream, but not a file. Properties must be serializable,
+     * except internal <tt>Camel</tt> properties, such as the message history, which are not spooled.
+     *
+     * @param exchange the exchange
+     * @throws RuntimeExchangeException if the exchange cannot be spooled
+     */
+    public void checkSpoolable(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        if (body instanceof WrappedFile || body instanceof File) {
+            throw new RuntimeExchangeException("Cannot spool in body of type " + body.getClass().getCanonicalName() + " to disk", exchange);
+        } else if (!(body instanceof StreamCache || body instanceof InputStream)) {
+            checkSerializable("in body", body, exchange);
+        }
+        checkSerializable("in header", exchange.getIn().getHeaders(), exchange);
+        if (exchange.hasOut()) {
+            checkSerializable("out body", exchange.getOut().getBody(), exchange);
+            checkSerializable("out header", exchange.getOut().getHeaders(), exchange);
+        }
+        if (exchange.hasProperties()) {
+            for (Map.Entry<String, Object> entry : exchange.getProperties().entrySet()) {
+                if (!isInternalProperty(entry.getKey())) {
+                    checkSerializable("property " + entry.getKey(), entry.getValue(), exchange);
+                }
+            }
+        }
+    }
+
+    /**
+     * Spools the exchange to disk.
+     *
+     * @param sequenceNumber the sequence number of the exchange
+     * @param exchange       the exchange
+     * @throws RuntimeExchangeException if the exchange cannot be spooled, see {@link #checkSpoolable(Exchange)}
+     * @throws IOException is thrown if error writing to disk
+     */
+    public synchronized void add(long sequenceNumber, Exchange exchange) throws IOException {
+        checkSpoolable(exchange);
+        byte[] data = marshal(exchange);
+
+        if (current == null || current.length >= segmentSize) {
+            current = newSegment();
+        }
+        long position = current.length;
+        current.raf.seek(position);
+        current.raf.write(data);
+        current.length += data.length;
+        current.count++;
+
+        if (size == sequenceNumbers.length) {
+            int capacity = size * 2;
+            sequenceNumbers = Arrays.copyOf(sequenceNumbers, capacity);
+            segmentIds = Arrays.copyOf(segmentIds, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        // sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (sequenceNumbers[parent] <= sequenceNumber) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        sequenceNumbers[i] = sequenceNumber;
+        segmentIds[i] = current.id;
+        positions[i] = position;
+        lengths[i] = data.length;
+    }
+
+    /**
+     * Removes the exchange with the lowest sequence number from the spool.
+     *
+     * @return a new exchange with the spooled content, or <tt>null</tt> if the spool is empty
+     * @throws IOException is thrown if error reading from disk
+     * @throws ClassNotFoundException is thrown if a spooled class cannot be loaded
+     */
+    public synchronized Exchange removeFirst() throws IOException, ClassNotFoundException {
+        if (size == 0) {
+            return null;
+        }
+        Segment segment = segments.get(segmentIds[0]);
+        byte[] data = new byte[lengths[0]];
+        segment.raf.seek(positions[0]);
+        segment.raf.readFully(data);
+
+        // sift down the last element from the top
+        size--;
+        long sequenceNumber = sequenceNumbers[size];
+        int segmentId = segmentIds[size];
+        long position = positions[size];
+        int length = lengths[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && sequenceNumbers[right] < sequenceNumbers[child]) {
+                child = right;
+            }
+            if (sequenceNumber <= sequenceNumbers[child]) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        sequenceNumbers[i] = sequenceNumber;
+        segmentIds[i] = segmentId;
+        positions[i] = position;
+        lengths[i] = length;
+
+        if (--segment.count == 0) {
+            // reclaim the disk space
+            if (segment == current) {
+                segment.raf.setLength(0);
+                segment.length = 0;
+            } else {
+                segments.remove(segment.id);
+                segment.delete();
+            }
+        }
+
+        return unmarshal(data);
+    }
+
+    /**
+     * Closes the spool and deletes the segment files, discarding any spooled exchanges.
+     */
+    public synchronized void close() {
+        size = 0;
+        for (Segment segment : segments.values()) {
+            segment.delete();
+        }
+        segments.clear();
+        current = null;
+    }
+
+    private byte[] marshal(Exchange exchange) throws IOException {
+        // marshal a copy as the body may be replaced and the internal properties removed
+        Exchange copy = exchange.copy();
+        copy.setExchangeId(exchange.getExchangeId());
+
+        boolean stream = false;
+        Object body = copy.getIn().getBody();
+        if (body instanceof StreamCache) {
+            StreamCache cache = (StreamCache) body;
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            cache.reset();
+            cache.writeTo(bos);
+            cache.reset();
+            copy.getIn().setBody(bos.toByteArray());
+            stream = true;
+        } else if (body instanceof InputStream) {
+            // the stream can only be read once, so let the exchange use the cached content instead
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            IOHelper.copyAndCloseInput((InputStream) body, bos);
+            copy.getIn().setBody(bos.toByteArray());
+            exchange.getIn().setBody(new InputStreamCache(bos.toByteArray()));
+            stream = true;
+        }
+        if (copy.hasProperties()) {
+            for (String key : copy.getProperties().keySet().toArray(new String[0])) {
+                if (isInternalProperty(key) && !(copy.getProperty(key) instanceof Serializable)) {
+                    copy.removeProperty(key);
+                }
+            }
+        }
+
+        Endpoint from = exchange.getFromEndpoint();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        try {
+            oos.writeObject(DefaultExchangeHolder.marshal(copy, true));
+            oos.writeBoolean(stream);
+            oos.writeObject(exchange.getPattern());
+            oos.writeObject(from != null ? from.getEndpointUri() : null);
+            oos.writeObject(exchange.getFromRouteId());
+        } finally {
+            IOHelper.close(oos);
+        }
+        return bos.toByteArray();
+    }
+
+    private Exchange unmarshal(byte[] data) throws IOException, ClassNotFoundException {
+        Exchange answer = new DefaultExchange(camelContext);
+        ObjectInput in = IOConverter.toObjectInput(new ByteArrayInputStream(data), answer);
+        try {
+            DefaultExchangeHolder.unmarshal(answer, (DefaultExchangeHolder) in.readObject());
+            if (in.readBoolean()) {
+                answer.getIn().setBody(new InputStreamCache((byte[]) answer.getIn().getBody()));
+            }
+            answer.setPattern((ExchangePattern) in.readObject());
+            String uri = (String) in.readObject();
+            if (uri != null) {
+                answer.setFromEndpoint(camelContext.hasEndpoint(uri));
+            }
+            answer.setFromRouteId((String) in.readObject());
+        } finally {
+            in.close();
+        }
+        return answer;
+    }
+
+    private Segment newSegment() throws IOException {
+        File file = FileUtil.createTempFile("resequencer", ".spool", directory);
+        Segment answer = new Segment(nextSegmentId++, file, new RandomAccessFile(file, "rw"));
+        segments.put(answer.id, answer);
+        return answer;
+    }
+
+    private void move(int from, int to) {
+        sequenceNumbers[to] = sequenceNumbers[from];
+        segmentIds[to] = segmentIds[from];
+        positions[to] = positions[from];
+        lengths[to] = lengths[from];
+    }
+
+    private static boolean isInternalProperty(String key) {
+        return key.startsWith("Camel");
+    }
+
+    private static void checkSerializable(String type, Object value, Exchange exchange) {
+        if (value != null && !(value instanceof Serializable)) {
+            throw new RuntimeExchangeException("Cannot spool " + type + " of type " + value.getClass().getCanonicalName()
+                    + " to disk as it is not serializable", exchange);
+        }
+    }
+
+    private static void checkSerializable(String type, Map<String, Object> map, Exchange exchange) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            checkSerializable(type + " " + entry.getKey(), entry.getValue(), exchange);
+        }
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final File file;
+        private final RandomAccessFile raf;
+        private long length;
+        private int count;
+
+        private Segment(int id, File file, RandomAccessFile raf) {
+            this.id = id;
+            this.file = file;
+            this.raf = raf;
+        }
+
+        private void delete() {
+            IOHelper.close(raf);
+            FileUtil.deleteFile(file);
+        }
+    }
+
+}
@@ -155,6 +155,37 @@ public interface StreamCachingStrategy extends StaticService {
 
     SpoolUsedHeapMemoryLimit getSpoolUsedHeapMemoryLimit();
 
+    /**
+     * Sets a budget in bytes of direct (off-heap) memory to use for stream caches which exceed the
+     * spool threshold, before overflowing to disk. The direct memory is pooled and shared by all
+     * the stream caches.
+     * <p/>
+     * By default this is <tt>0</tt> which means off-heap memory is not in use.
+     */
+    void setOffHeapMemoryLimit(long limit);
+
+    long getOffHeapMemoryLimit();
+
+    /**
+     * Gets the number of bytes of direct (off-heap) memory which has been allocated, which is at most the limit.
+     */
+    long getOffHeapMemoryAllocated();
+
+    /**
+     * Gets the number of bytes of direct (off-heap) memory currently in use by stream caches.
+     */
+    long getOffHeapMemoryUsed();
+
+    /**
+     * Whether to read stream caches spooled to disk using memory-mapped files.
+     * <p/>
+     * A memory-mapped file is unmapped when garbage collected, and on Windows the file cannot be deleted
+     * until then, so this option is default <tt>true</tt>, except on Windows.
+     */
+    void setSpoolMemoryMapped(boolean memoryMapped);
+
+    boolean isSpoolMemoryMapped();
+
     /**
      * Sets the buffer size to use when allocating in-memory buffers used for in-memory stream caches.
      * <p/>
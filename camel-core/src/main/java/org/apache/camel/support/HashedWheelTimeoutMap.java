@@ -0,0 +1,347 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimeoutMap} which tracks the timeouts using a hashed timing wheel, to scale
+ * to a large number of entries being added and removed concurrently, such as in-flight request/reply messages.
+ * <p/>
+ * The put and remove operations do not lock, and adding or removing an entry is <tt>O(1)</tt>. The get operation
+ * only locks the entry itself, so the entry is either given to the caller, or evicted, but not both.
+ * The wheel has a number of buckets where each bucket represents one tick of the purge poll time.
+ * New entries are queued and placed in the bucket of the tick they expire by the purge task,
+ * which then only has to look at the entries in the buckets of the ticks which has passed, instead of all the entries.
+ * Entries which was removed from the map is discarded when their bucket is visited, and their value is cleared when
+ * removed so the wheel does not keep the value in memory until then. Entries which has not yet
+ * expired (for example because their timeout was extended by {@link #get(Object)}) is placed in the bucket of
+ * the tick they now expire.
+ * <p/>
+ * The timeouts is checked with the precision of the purge poll time, the same as {@link DefaultTimeoutMap}.
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used
+ * to schedule a background task which check for old entries to purge.
+ * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ *
+ * @version 
+ */
+public class HashedWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V>, Runnable {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, TimeoutMapEntry<K, V>> map = new ConcurrentHashMap<K, TimeoutMapEntry<K, V>>();
+    private final Queue<TimeoutMapEntry<K, V>> pending = new ConcurrentLinkedQueue<TimeoutMapEntry<K, V>>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    // the wheel is only accessed by the purge task while holding the lock on the wheel
+    private final List<TimeoutMapEntry<K, V>>[] wheel;
+    private final int mask;
+    private long lastTick = -1;
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param executor                  the scheduler to run the purge task
+     * @param requestMapPollTimeMillis  the purge poll time, which is the duration of one tick of the wheel
+     * @param wheelSize                 number of buckets in the wheel, which is rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be positive, was: " + requestMapPollTimeMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException("WheelSize must be between 1 and 1048576, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new ArrayList<TimeoutMapEntry<K, V>>();
+        }
+        this.mask = size - 1;
+    }
+
+    public V get(K key) {
+        TimeoutMapEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            if (map.get(key) != entry) {
+                // the entry has been claimed for eviction, or removed, in the meantime
+                return null;
+            }
+            // the entry is moved in the wheel when its bucket is visited
+            updateExpireTime(entry);
+            return entry.getValue();
+        }
+    }
+
+    public void put(K key, V value, long timeoutMillis) {
+        TimeoutMapEntry<K, V> entry = new TimeoutMapEntry<K, V>(key, value, timeoutMillis);
+        updateExpireTime(entry);
+        // any previous entry for the key is discarded when its bucket is visited
+        TimeoutMapEntry<K, V> previous = map.put(key, entry);
+        if (previous != null) {
+            previous.setValue(null);
+        }
+        pending.add(entry);
+    }
+
+    public V remove(K key) {
+        // the entry is discarded when its bucket is visited, so clear its value to not keep it in memory until then
+        TimeoutMapEntry<K, V> entry = map.remove(key);
+        return entry != null ? entry.setValue(null) : null;
+    }
+
+    public Object[] getKeys() {
+        Set<K> keySet = map.keySet();
+        Object[] keys = new Object[keySet.size()];
+        return keySet.toArray(keys);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests
+     */
+    public void run() {
+        // only run if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries has been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next run
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    public void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+
+        List<TimeoutMapEntry<K, V>> expired = new ArrayList<TimeoutMapEntry<K, V>>();
+        synchronized (wheel) {
+            long now = currentTime();
+            long tick = now / purgePollTime;
+            if (lastTick < 0) {
+                lastTick = tick - 1;
+            }
+
+            // place the new entries in the wheel
+            TimeoutMapEntry<K, V> entry;
+            while ((entry = pending.poll()) != null) {
+                schedule(entry, lastTick);
+            }
+
+            // visit the buckets of the ticks which has passed, but each bucket only once
+            long from = Math.max(lastTick + 1, tick - mask);
+            for (long current = from; current <= tick; current++) {
+                visit(current, now, expired);
+            }
+            lastTick = tick;
+
+            if (expired.isEmpty()) {
+                return;
+            }
+
+            // sort according to the expired time so we got the first expired first
+            Collections.sort(expired, new Comparator<TimeoutMapEntry<K, V>>() {
+                public int compare(TimeoutMapEntry<K, V> a, TimeoutMapEntry<K, V> b) {
+                    long diff = a.getExpireTime() - b.getExpireTime();
+                    if (diff == 0) {
+                        return 0;
+                    }
+                    return diff > 0 ? 1 : -1;
+                }
+            });
+
+            // now fire eviction notification
+            for (TimeoutMapEntry<K, V> candidate : expired) {
+                K key = candidate.getKey();
+                // claim the entry by removing it before eviction, so it cannot be taken using get while being evicted,
+                // unless get has extended its timeout, or it has been removed or replaced in the meantime
+                boolean claimed;
+                synchronized (candidate) {
+                    claimed = candidate.getExpireTime() < now && map.remove(key, candidate);
+                }
+                if (!claimed) {
+                    if (map.get(key) == candidate) {
+                        schedule(candidate, lastTick);
+                    }
+                    continue;
+                }
+
+                boolean evict = false;
+                try {
+                    evict = onEviction(key, candidate.getValue());
+                } catch (Throwable t) {
+                    log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}",
+                            candidate.getValue(), t);
+                }
+                if (!evict && map.putIfAbsent(key, candidate) == null) {
+                    // put the entry back, unless a new entry was put for the key in the meantime, and try again on the next tick
+                    schedule(candidate, lastTick);
+                }
+            }
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Visits the bucket for the given tick, and adds the entries which has expired to the given list.
+     */
+    private void visit(long tick, long now, List<TimeoutMapEntry<K, V>> expired) {
+        int index = (int) (tick & mask);
+        List<TimeoutMapEntry<K, V>> bucket = wheel[index];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        // entries which has not expired may be placed in this bucket again
+        wheel[index] = new ArrayList<TimeoutMapEntry<K, V>>();
+
+        for (TimeoutMapEntry<K, V> entry : bucket) {
+            if (map.get(entry.getKey()) != entry) {
+                // the entry has been removed or replaced
+                continue;
+            }
+            if (entry.getExpireTime() < now && isValidForEviction(entry)) {
+                log.debug("Evicting inactive entry ID: {}", entry);
+                expired.add(entry);
+            } else {
+                schedule(entry, tick);
+            }
+        }
+    }
+
+    /**
+     * Places the entry in the bucket of the tick it expires, which is at least the tick after the current tick.
+     */
+    private void schedule(TimeoutMapEntry<K, V> entry, long currentTick) {
+        long tick = Math.max(entry.getExpireTime() / purgePollTime, currentTick + 1);
+        wheel[(int) (tick & mask)].add(entry);
+    }
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    public boolean onEviction(K key, V value) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        map.clear();
+        synchronized (wheel) {
+            pending.clear();
+            for (List<TimeoutMapEntry<K, V>> bucket : wheel) {
+                bucket.clear();
+            }
+            lastTick = -1;
+        }
+    }
+
+}
@@ -29,7 +29,7 @@ public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V
     private K key;
     private V value;
     private long timeout;
-    private long expireTime;
+    private volatile long expireTime;
 
     public TimeoutMapEntry(K id, V handler, long timeout) {
         this.key = id;
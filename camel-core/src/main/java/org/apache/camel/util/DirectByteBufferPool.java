@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of fixed size direct (off-heap) {@link ByteBuffer} chunks bounded by a global memory budget.
+ * <p/>
+ * Chunks are allocated lazily until the budget is exhausted, after which {@link #acquire()} returns
+ * <tt>null</tt> until chunks are {@link #release(java.nio.ByteBuffer) released} back to the pool.
+ * Released chunks are kept for reuse as allocating direct memory is expensive.
+ * <p/>
+ * This class is thread safe.
+ */
+public final class DirectByteBufferPool {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final Queue<ByteBuffer> pool = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final long limit;
+    private final int chunkSize;
+
+    public DirectByteBufferPool(long limit) {
+        this(limit, DEFAULT_CHUNK_SIZE);
+    }
+
+    public DirectByteBufferPool(long limit, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("ChunkSize must be positive, was: " + chunkSize);
+        }
+        this.limit = limit;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Acquires a cleared chunk from the pool.
+     *
+     * @return the chunk, or <tt>null</tt> if the memory budget is exhausted
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) {
+            buffer.clear();
+        } else {
+            // reserve room in the budget before allocating
+            while (true) {
+                long current = allocated.get();
+                if (current + chunkSize > limit) {
+                    return null;
+                }
+                if (allocated.compareAndSet(current, current + chunkSize)) {
+                    break;
+                }
+            }
+            buffer = ByteBuffer.allocateDirect(chunkSize);
+        }
+        used.addAndGet(chunkSize);
+        return buffer;
+    }
+
+    /**
+     * Releases the chunk back to the pool.
+     */
+    public void release(ByteBuffer buffer) {
+        used.addAndGet(-chunkSize);
+        pool.offer(buffer);
+    }
+
+    /**
+     * Discards the idle chunks in the pool so the direct memory can be reclaimed.
+     */
+    public void clear() {
+        ByteBuffer buffer = pool.poll();
+        while (buffer != null) {
+            allocated.addAndGet(-chunkSize);
+            buffer = pool.poll();
+        }
+    }
+
+    /**
+     * Gets the memory budget in bytes
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the size in bytes of each chunk
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Gets the number of bytes of direct memory currently allocated by this pool
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    /**
+     * Gets the number of bytes of direct memory currently acquired and not yet released
+     */
+    public long getUsed() {
+        return used.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DirectByteBufferPool[limit=" + limit + ", allocated=" + allocated.get() + ", used=" + used.get() + "]";
+    }
+}
@@ -0,0 +1,404 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A case insensitive map optimized for storing message headers, which preserves the original keys in the keySet.
+ * <p/>
+ * This map is an alternative to {@link CaseInsensitiveMap} which is tailored for the way Camel uses headers:
+ * <ul>
+ *   <li>the entries are stored in a single open addressing table (linear probing) so there is no per entry
+ *   object allocation when adding headers</li>
+ *   <li>the lower case lookup keys are computed once and shared (interned) between all the maps, so looking up
+ *   well known headers does not allocate a new lower case key on every call</li>
+ *   <li>copies made using {@link #copy()} share the table with the source map (copy-on-write), so copying
+ *   a message in the multicast, wire tap or splitter EIPs is a constant time operation until either map
+ *   is mutated</li>
+ * </ul>
+ * Iterating the map operates on a snapshot of the table, which means the map can be mutated while iterating,
+ * as with {@link CaseInsensitiveMap}.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ *
+ * @version 
+ */
+public class FastHeadersMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 6520316346052581328L;
+
+    private static final int MIN_SLOTS = 8;
+    private static final int MAX_CACHED_KEYS = 1000;
+    // holds a cache of key -> interned lower case key shared by all the maps
+    private static final ConcurrentMap<String, String> KEYS = new ConcurrentHashMap<String, String>();
+
+    // the table holds triplets of: lower case key, original key, value
+    private Object[] table;
+    private int size;
+    // whether the table is shared with other maps and must be copied before mutating
+    private transient boolean shared;
+    // the number of iterators which have not yet iterated the table to the end, and if any then
+    // the table must be copied before mutating, as the iterators operate on a snapshot of the table
+    private transient int iterators;
+
+    public FastHeadersMap() {
+        this(MIN_SLOTS);
+    }
+
+    public FastHeadersMap(int initialCapacity) {
+        this.table = new Object[slotsFor(initialCapacity) * 3];
+    }
+
+    public FastHeadersMap(Map<? extends String, ?> map) {
+        this(map != null ? map.size() : 0);
+        putAll(map);
+    }
+
+    private FastHeadersMap(Object[] table, int size) {
+        this.table = table;
+        this.size = size;
+        this.shared = true;
+    }
+
+    /**
+     * Creates a copy of this map, which shares its storage with this map until either of the maps are mutated.
+     *
+     * @return the copy
+     */
+    public FastHeadersMap copy() {
+        shared = true;
+        return new FastHeadersMap(table, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int index = indexOf(table, assembleKey(key.toString()));
+        return index < 0 ? null : table[index + 2];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        return indexOf(table, assembleKey(key.toString())) >= 0;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        String s = assembleKey(key);
+        if (shared || iterators > 0) {
+            unshare(table.length);
+        }
+
+        Object[] tab = table;
+        int mask = tab.length / 3 - 1;
+        int i = hash(s) & mask;
+        while (true) {
+            int index = i * 3;
+            Object k = tab[index];
+            if (k == null) {
+                tab[index] = s;
+                tab[index + 1] = key;
+                tab[index + 2] = value;
+                if (++size * 2 > mask + 1) {
+                    // keep the load factor at most 0.5 so the probe sequences stay short
+                    unshare(tab.length * 2);
+                }
+                return null;
+            } else if (k == s || k.equals(s)) {
+                // update the original key as well as the last put wins
+                Object answer = tab[index + 2];
+                tab[index + 1] = key;
+                tab[index + 2] = value;
+                return answer;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (map == null || map.isEmpty() || map == this) {
+            return;
+        }
+        if (size == 0 && map instanceof FastHeadersMap) {
+            // we are empty so we can just share the storage with the other map
+            FastHeadersMap other = (FastHeadersMap) map;
+            other.shared = true;
+            table = other.table;
+            size = other.size;
+            shared = true;
+            iterators = 0;
+            return;
+        }
+        for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int index = indexOf(table, assembleKey(key.toString()));
+        if (index < 0) {
+            return null;
+        }
+        if (shared || iterators > 0) {
+            unshare(table.length);
+        }
+
+        Object[] tab = table;
+        Object answer = tab[index + 2];
+        int mask = tab.length / 3 - 1;
+
+        // backward shift the following entries in the probe sequence, so we do not need tombstones
+        int hole = index / 3;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            Object k = tab[j * 3];
+            if (k == null) {
+                break;
+            }
+            int ideal = hash((String) k) & mask;
+            boolean move = j > hole ? (ideal <= hole || ideal > j) : (ideal <= hole && ideal > j);
+            if (move) {
+                System.arraycopy(tab, j * 3, tab, hole * 3, 3);
+                hole = j;
+            }
+        }
+        tab[hole * 3] = null;
+        tab[hole * 3 + 1] = null;
+        tab[hole * 3 + 2] = null;
+        size--;
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        if (shared || iterators > 0) {
+            table = new Object[MIN_SLOTS * 3];
+            shared = false;
+            iterators = 0;
+        } else {
+            Arrays.fill(table, null);
+        }
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void unshare(int length) {
+        Object[] tab = table;
+        Object[] answer = new Object[length];
+        if (length == tab.length) {
+            System.arraycopy(tab, 0, answer, 0, length);
+        } else {
+            // rehash into the new table
+            int mask = length / 3 - 1;
+            for (int index = 0; index < tab.length; index += 3) {
+                Object k = tab[index];
+                if (k != null) {
+                    int i = hash((String) k) & mask;
+                    while (answer[i * 3] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    System.arraycopy(tab, index, answer, i * 3, 3);
+                }
+            }
+        }
+        table = answer;
+        shared = false;
+        // the iterators are iterating the previous table
+        iterators = 0;
+    }
+
+    private static int indexOf(Object[] tab, String s) {
+        int mask = tab.length / 3 - 1;
+        int i = hash(s) & mask;
+        while (true) {
+            int index = i * 3;
+            Object k = tab[index];
+            if (k == null) {
+                return -1;
+            } else if (k == s || k.equals(s)) {
+                return index;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static int hash(String s) {
+        int h = s.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int slotsFor(int capacity) {
+        int slots = MIN_SLOTS;
+        while (slots < capacity * 2) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    private static String assembleKey(String key) {
+        String answer = KEYS.get(key);
+        if (answer == null) {
+            answer = key.toLowerCase(Locale.ENGLISH);
+            if (KEYS.size() < MAX_CACHED_KEYS) {
+                // intern the lower case key so equal keys are most likely the same instance
+                String existing = KEYS.putIfAbsent(answer, answer);
+                if (existing != null) {
+                    answer = existing;
+                }
+                KEYS.putIfAbsent(key, answer);
+            }
+        }
+        return answer;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final Object[] tab;
+        private int next;
+        private String last;
+
+        private EntryIterator() {
+            // iterate a snapshot of the table, any mutation of the map until we are done will copy the table
+            tab = table;
+            iterators++;
+            advance();
+        }
+
+        private void advance() {
+            while (next < tab.length && tab[next] == null) {
+                next += 3;
+            }
+            if (next >= tab.length && tab == table && iterators > 0) {
+                // we are done so the map can be mutated again without copying the table,
+                // unless the table has already been copied, which reset the number of iterators
+                iterators--;
+            }
+        }
+
+        public boolean hasNext() {
+            return next < tab.length;
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (next >= tab.length) {
+                throw new NoSuchElementException();
+            }
+            Entry answer = new Entry((String) tab[next + 1], tab[next + 2]);
+            last = answer.key;
+            next += 3;
+            advance();
+            return answer;
+        }
+
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            FastHeadersMap.this.remove(last);
+            last = null;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+        private final String key;
+        private Object value;
+
+        private Entry(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public Object setValue(Object value) {
+            Object answer = this.value;
+            this.value = value;
+            FastHeadersMap.this.put(key, value);
+            return answer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return ObjectHelper.equal(key, e.getKey()) && ObjectHelper.equal(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
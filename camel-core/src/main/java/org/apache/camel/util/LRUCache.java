@@ -124,6 +124,33 @@ public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serial
         return map.put(k, v);
     }
 
+    /**
+     * If the specified key is not already associated with a value, associate it with the given value.
+     * <p/>
+     * This is an atomic operation, which allows using this cache concurrently without external synchronization.
+     *
+     * @param k the key
+     * @param v the value
+     * @return the previous value associated with the key, or <tt>null</tt> if there was no value for the key
+     */
+    public V putIfAbsent(K k, V v) {
+        return map.putIfAbsent(k, v);
+    }
+
+    /**
+     * Replaces the value for the key only if it is currently associated with the given old value.
+     * <p/>
+     * This is an atomic operation, which allows using this cache concurrently without external synchronization.
+     *
+     * @param k        the key
+     * @param oldValue the value expected to be associated with the key
+     * @param newValue the value to associate with the key
+     * @return <tt>true</tt> if the value was replaced
+     */
+    public boolean replace(K k, V oldValue, V newValue) {
+        return map.replace(k, oldValue, newValue);
+    }
+
     @Override
     public V remove(Object o) {
         return map.remove(o);
@@ -72,6 +72,27 @@ public class LRUWeakCache<K, V> extends LRUCache<K, V> {
         return prev != null ? prev.get() : null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(K key, V value) {
+        WeakReference<V> put = new WeakReference<V>(value);
+        while (true) {
+            WeakReference<V> prev = (WeakReference<V>) super.putIfAbsent(key, (V) put);
+            if (prev == null) {
+                return null;
+            }
+            V answer = prev.get();
+            if (answer != null) {
+                return answer;
+            }
+            // the existing value has been garbage collected, so the key is absent and we must replace
+            // the cleared reference, unless another thread changed it in the meantime
+            if (super.replace(key, (V) prev, (V) put)) {
+                return null;
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public V get(Object o) {
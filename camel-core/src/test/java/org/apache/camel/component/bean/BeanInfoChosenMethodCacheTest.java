@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+
+/**
+ * @version 
+ */
+public class BeanInfoChosenMethodCacheTest extends ContextTestSupport {
+
+    public void testChosenMethodCachedPerBodyType() throws Exception {
+        BeanInfo beanInfo = new BeanInfo(context, MyBean.class);
+        MyBean bean = new MyBean();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(String.class, invoke(beanInfo, bean, "World").getMethod().getParameterTypes()[0]);
+            MethodInvocation invocation = invoke(beanInfo, bean, 123);
+            assertEquals(Integer.class, invocation.getMethod().getParameterTypes()[0]);
+            assertEquals(123, invocation.getArguments()[0]);
+        }
+
+        // another bean info for the same type shares the cache
+        beanInfo = new BeanInfo(context, MyBean.class);
+        assertEquals(String.class, invoke(beanInfo, bean, "World").getMethod().getParameterTypes()[0]);
+    }
+
+    public void testChosenMethodNotCachedWhenBodyConverted() throws Exception {
+        BeanInfo beanInfo = new BeanInfo(context, MyBean.class);
+        MyBean bean = new MyBean();
+
+        // the body must be converted to choose the method, and that must happen for every message
+        for (int i = 0; i < 3; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody(new StringBuilder("Camel"));
+            MethodInvocation invocation = beanInfo.createInvocation(bean, exchange);
+            assertEquals(String.class, invocation.getMethod().getParameterTypes()[0]);
+            assertEquals("Camel", invocation.getArguments()[0]);
+            assertIsInstanceOf(String.class, exchange.getIn().getBody());
+        }
+    }
+
+    private MethodInvocation invoke(BeanInfo beanInfo, Object bean, Object body) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(body);
+        return beanInfo.createInvocation(bean, exchange);
+    }
+
+    public static class MyBean {
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+
+        public String hello(Integer number) {
+            return "Hello number " + number;
+        }
+    }
+
+}
@@ -24,6 +24,7 @@ import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.SimpleRegistry;
+import org.apache.camel.language.simple.SimpleLanguage;
 import org.apache.camel.spi.Registry;
 
 public final class CamelSimpleExpressionPerfTestRunner {
@@ -38,14 +39,25 @@ public final class CamelSimpleExpressionPerfTestRunner {
         long bodyOnly = executePerformanceTest(new SimpleRegistry(), "${body}");
         long bodyProperty = executePerformanceTest(new SimpleRegistry(), "${body[p]}");
         long bodyPropertyWithCache = executePerformanceTest(new SimpleRegistry(), "${body[p]}");
+        long bodyPropertyCompiled = executePerformanceTest(new SimpleRegistry(), "${body[p]}", true);
+        long bodyMethod = executePerformanceTest(new SimpleRegistry(), "${body.size}");
+        long bodyMethodCompiled = executePerformanceTest(new SimpleRegistry(), "${body.size}", true);
 
         System.out.printf("${body}: %dms%n", bodyOnly);
         System.out.printf("${body[p]} : %dms%n", bodyProperty);
         System.out.printf("${body[p]} with cache : %dms%n", bodyPropertyWithCache);
+        System.out.printf("${body[p]} compiled : %dms%n", bodyPropertyCompiled);
+        System.out.printf("${body.size} : %dms%n", bodyMethod);
+        System.out.printf("${body.size} compiled : %dms%n", bodyMethodCompiled);
     }
 
     private static long executePerformanceTest(Registry registry, final String simpleExpression) throws Exception {
+        return executePerformanceTest(registry, simpleExpression, false);
+    }
+
+    private static long executePerformanceTest(Registry registry, final String simpleExpression, boolean compile) throws Exception {
         CamelContext ctx = new DefaultCamelContext(registry);
+        ((SimpleLanguage) ctx.resolveLanguage("simple")).setCompile(compile);
 
         ctx.addRoutes(new RouteBuilder() {
             @Override
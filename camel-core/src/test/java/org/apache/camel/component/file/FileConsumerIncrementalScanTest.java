@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * @version 
+ */
+public class FileConsumerIncrementalScanTest extends ContextTestSupport {
+
+    private final List<String> names = new ArrayList<String>();
+    private long old;
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/incremental");
+        super.setUp();
+        template.sendBodyAndHeader("file://target/incremental", "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/incremental", "Bye World", Exchange.FILE_NAME, "sub/bye.txt");
+
+        // pretend the directories has not been changed for a while
+        old = System.currentTimeMillis() - 10000;
+        assertTrue(new File("target/incremental").setLastModified(old));
+        assertTrue(new File("target/incremental/sub").setLastModified(old));
+    }
+
+    public void testIncrementalScan() throws Exception {
+        FileEndpoint endpoint = context.getEndpoint("file://target/incremental?noop=true&recursive=true"
+                + "&incrementalScan=true&fullScanInterval=3600000", FileEndpoint.class);
+        FileConsumer consumer = endpoint.createConsumer(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                names.add(exchange.getIn().getHeader(Exchange.FILE_NAME_ONLY, String.class));
+            }
+        });
+        consumer.setStartScheduler(false);
+        consumer.start();
+        try {
+            assertEquals(2, consumer.poll());
+            assertTrue(names.contains("hello.txt"));
+            assertTrue(names.contains("bye.txt"));
+
+            // nothing new
+            assertEquals(0, consumer.poll());
+
+            // a file which does not change the directory timestamp is not detected
+            template.sendBodyAndHeader("file://target/incremental", "Hi World", Exchange.FILE_NAME, "hi.txt");
+            assertTrue(new File("target/incremental").setLastModified(old));
+            assertEquals(0, consumer.poll());
+
+            // but sub directories of an unchanged directory is still polled
+            template.sendBodyAndHeader("file://target/incremental", "Bye Camel", Exchange.FILE_NAME, "sub/camel.txt");
+            assertEquals(1, consumer.poll());
+            assertEquals("camel.txt", names.get(2));
+
+            // until the next full scan
+            endpoint.setFullScanInterval(0);
+            assertEquals(1, consumer.poll());
+            assertEquals("hi.txt", names.get(3));
+        } finally {
+            consumer.stop();
+        }
+    }
+
+    public void testIncrementalScanDisabled() throws Exception {
+        FileEndpoint endpoint = context.getEndpoint("file://target/incremental?noop=true&recursive=true", FileEndpoint.class);
+        FileConsumer consumer = endpoint.createConsumer(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                names.add(exchange.getIn().getHeader(Exchange.FILE_NAME_ONLY, String.class));
+            }
+        });
+        consumer.setStartScheduler(false);
+        consumer.start();
+        try {
+            assertEquals(2, consumer.poll());
+
+            template.sendBodyAndHeader("file://target/incremental", "Hi World", Exchange.FILE_NAME, "hi.txt");
+            assertTrue(new File("target/incremental").setLastModified(old));
+            assertEquals(1, consumer.poll());
+            assertEquals("hi.txt", names.get(2));
+        } finally {
+            consumer.stop();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Measures the time to scan a directory tree with 1000 sub directories with 1000 files each,
+ * sequentially and using scanner threads.
+ */
+public class FileConsumerScanThreadsPerformanceTest extends ContextTestSupport {
+
+    private int directories = 1000;
+    private int files = 1000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        deleteDirectory("target/scanperf");
+        for (int i = 0; i < directories; i++) {
+            File dir = new File("target/scanperf/dir" + i);
+            dir.mkdirs();
+            for (int j = 0; j < files; j++) {
+                new File(dir, "file" + j + ".txt").createNewFile();
+            }
+        }
+
+        scan("file://target/scanperf?noop=true&idempotent=false&recursive=true");
+        scan("file://target/scanperf?noop=true&idempotent=false&recursive=true&scanThreads=4");
+        scan("file://target/scanperf?noop=true&idempotent=false&recursive=true&scanThreads=8");
+    }
+
+    private void scan(String uri) throws Exception {
+        FileEndpoint endpoint = context.getEndpoint(uri, FileEndpoint.class);
+        FileConsumer consumer = endpoint.createConsumer(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                // noop
+            }
+        });
+        consumer.setStartScheduler(false);
+        consumer.start();
+        try {
+            StopWatch watch = new StopWatch();
+            int total = consumer.poll();
+            log.info("Took " + watch.stop() + " millis to scan " + total + " files using " + uri);
+        } finally {
+            consumer.stop();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * @version 
+ */
+public class FileConsumerScanThreadsTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/scanthreads");
+        super.setUp();
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                for (int k = 0; k < 2; k++) {
+                    template.sendBodyAndHeader("file://target/scanthreads", "Hello World", Exchange.FILE_NAME,
+                            "dir" + i + "/sub" + j + "/file" + k + ".txt");
+                }
+            }
+            template.sendBodyAndHeader("file://target/scanthreads", "Hello World", Exchange.FILE_NAME, "dir" + i + ".txt");
+        }
+    }
+
+    public void testScanThreads() throws Exception {
+        List<String> sequential = pollFiles("file://target/scanthreads?noop=true&recursive=true");
+        List<String> parallel = pollFiles("file://target/scanthreads?noop=true&recursive=true&scanThreads=4");
+
+        assertEquals(21, sequential.size());
+        // the files should be gathered in the same order
+        assertEquals(sequential, parallel);
+    }
+
+    public void testScanThreadsMaxDepthAndMaxMessagesPerPoll() throws Exception {
+        List<String> files = pollFiles("file://target/scanthreads?noop=true&recursive=true&scanThreads=4&maxDepth=2");
+        assertEquals(3, files.size());
+
+        files = pollFiles("file://target/scanthreads?noop=true&recursive=true&scanThreads=4&maxMessagesPerPoll=5");
+        assertEquals(5, files.size());
+    }
+
+    private List<String> pollFiles(String uri) throws Exception {
+        final List<String> names = new ArrayList<String>();
+        FileEndpoint endpoint = context.getEndpoint(uri, FileEndpoint.class);
+        FileConsumer consumer = endpoint.createConsumer(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                names.add(exchange.getIn().getHeader(Exchange.FILE_NAME, String.class));
+            }
+        });
+        consumer.setStartScheduler(false);
+        consumer.start();
+        try {
+            consumer.poll();
+        } finally {
+            consumer.stop();
+        }
+        return names;
+    }
+}
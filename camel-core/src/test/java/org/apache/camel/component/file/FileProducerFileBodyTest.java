@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * Tests the file producer with file based bodies, which are copied file to file.
+ */
+public class FileProducerFileBodyTest extends ContextTestSupport {
+
+    private File source;
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/filebody");
+        createDirectory("target/filebody/in");
+        super.setUp();
+
+        source = new File("target/filebody/in/hello.txt");
+        FileOutputStream fos = new FileOutputStream(source);
+        try {
+            fos.write("Hello World".getBytes());
+        } finally {
+            IOHelper.close(fos);
+        }
+    }
+
+    public void testFileBody() throws Exception {
+        template.sendBodyAndHeader("file://target/filebody/out", source, Exchange.FILE_NAME, "hello.txt");
+
+        assertFileExists("target/filebody/out/hello.txt");
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, new File("target/filebody/out/hello.txt")));
+    }
+
+    public void testFileBodyAppend() throws Exception {
+        template.sendBodyAndHeader("file://target/filebody/out", source, Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/filebody/out?fileExist=Append", source, Exchange.FILE_NAME, "hello.txt");
+
+        assertEquals("Hello WorldHello World", context.getTypeConverter().convertTo(String.class, new File("target/filebody/out/hello.txt")));
+    }
+
+    public void testFileInputStreamCacheBody() throws Exception {
+        FileInputStreamCache cache = new FileInputStreamCache(source);
+        try {
+            template.sendBodyAndHeader("file://target/filebody/out", cache, Exchange.FILE_NAME, "cached.txt");
+        } finally {
+            cache.close();
+        }
+
+        assertFileExists("target/filebody/out/cached.txt");
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, new File("target/filebody/out/cached.txt")));
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+}
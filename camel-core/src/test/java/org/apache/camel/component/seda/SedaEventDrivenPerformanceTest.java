@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * Compares the latency percentiles of the polling and the event driven seda consumer,
+ * when sending messages with a pause in between, so the consumer is idle when the message arrives.
+ */
+public class SedaEventDrivenPerformanceTest extends ContextTestSupport {
+
+    private int size = 2000;
+    private volatile long[] latencies;
+    private volatile CountDownLatch latch;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        run("seda:polling", 200);
+        run("seda:event", 200);
+
+        log.info("Polling consumer latency: " + percentiles(run("seda:polling", size)));
+        log.info("Event driven consumer latency: " + percentiles(run("seda:event", size)));
+    }
+
+    private long[] run(String uri, int count) throws Exception {
+        latencies = new long[count];
+        latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            template.sendBodyAndHeader(uri, i, "sent", System.nanoTime());
+            // let the consumer become idle
+            Thread.sleep(1);
+        }
+        assertTrue("Should all be received", latch.await(1, TimeUnit.MINUTES));
+        return latencies;
+    }
+
+    private static String percentiles(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return "p50=" + micros(sorted, 0.50) + "us, p90=" + micros(sorted, 0.90)
+            + "us, p99=" + micros(sorted, 0.99) + "us, max=" + micros(sorted, 1.0) + "us";
+    }
+
+    private static long micros(long[] sorted, double percentile) {
+        int index = Math.min(sorted.length - 1, (int) (sorted.length * percentile));
+        return TimeUnit.NANOSECONDS.toMicros(sorted[index]);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                Processor latency = new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        long sent = exchange.getIn().getHeader("sent", Long.class);
+                        latencies[exchange.getIn().getBody(Integer.class)] = System.nanoTime() - sent;
+                        latch.countDown();
+                    }
+                };
+
+                from("seda:polling?concurrentConsumers=4").process(latency);
+                from("seda:event?concurrentConsumers=4&eventDriven=true").process(latency);
+            }
+        };
+    }
+}
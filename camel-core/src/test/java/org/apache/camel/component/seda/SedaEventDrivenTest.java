@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.ServiceHelper;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * @version 
+ */
+public class SedaEventDrivenTest extends ContextTestSupport {
+
+    private final String uri = "seda:bar?eventDriven=true&concurrentConsumers=3";
+
+    public void testEventDriven() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedBodiesReceived("A", "B", "C");
+
+        template.sendBody(uri, "A");
+        template.sendBody(uri, "B");
+        template.sendBody(uri, "C");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testEventDrivenSuspendResume() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedMessageCount(1);
+
+        template.sendBody(uri, "A");
+        mock.assertIsSatisfied();
+
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("bar").getConsumer();
+        ServiceHelper.suspendService(consumer);
+        assertEquals("Suspended", consumer.getStatus().name());
+
+        // the waiting consumer threads are woken up when suspended, so there is no slack period
+        resetMocks();
+        mock.expectedMessageCount(0);
+        template.sendBody(uri, "B");
+        mock.assertIsSatisfied(1000);
+
+        resetMocks();
+        mock.expectedBodiesReceived("B");
+        ServiceHelper.resumeService(consumer);
+        assertEquals("Started", consumer.getStatus().name());
+
+        mock.assertIsSatisfied();
+    }
+
+    public void testEventDrivenStopRoute() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedMessageCount(1);
+
+        template.sendBody(uri, "A");
+        mock.assertIsSatisfied();
+
+        // the waiting consumer threads should be woken up so stopping is fast
+        StopWatch watch = new StopWatch();
+        context.stopRoute("bar");
+        assertTrue("Should stop fast, was " + watch.taken() + " ms", watch.taken() < 5000);
+        assertEquals("Stopped", context.getRouteStatus("bar").name());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).routeId("bar").to("mock:bar");
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class SedaMaxMessagesPerPollTest extends ContextTestSupport {
+
+    public void testMaxMessagesPerPoll() throws Exception {
+        // add the messages before the consumer is started, so they are drained as a batch
+        template.sendBody("seda:foo", "A");
+        template.sendBody("seda:foo", "B");
+        template.sendBody("seda:foo", "C");
+
+        MockEndpoint mock = getMockEndpoint("mock:foo");
+        mock.expectedBodiesReceived("A", "B", "C");
+        mock.message(0).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).property(Exchange.BATCH_COMPLETE).isEqualTo(false);
+        mock.message(2).property(Exchange.BATCH_INDEX).isEqualTo(2);
+        mock.message(2).property(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(2).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGroupExchanges() throws Exception {
+        template.sendBody("seda:bar", "A");
+        template.sendBody("seda:bar", "B");
+        template.sendBody("seda:bar", "C");
+
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedMessageCount(1);
+        mock.message(0).property(Exchange.BATCH_SIZE).isEqualTo(3);
+
+        context.startRoute("bar");
+
+        assertMockEndpointsSatisfied();
+
+        List<Exchange> grouped = mock.getReceivedExchanges().get(0).getIn().getBody(List.class);
+        assertEquals(3, grouped.size());
+        assertEquals("A", grouped.get(0).getIn().getBody());
+        assertEquals("B", grouped.get(1).getIn().getBody());
+        assertEquals("C", grouped.get(2).getIn().getBody());
+    }
+
+    public void testGroupExchangesInOut() throws Exception {
+        context.startRoute("bar");
+
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.expectedMessageCount(1);
+
+        // the waiting producer should be signalled when the grouped exchange is done
+        Object reply = template.requestBody("seda:bar", "A");
+        assertEquals("A", reply);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?maxMessagesPerPoll=10").routeId("foo").noAutoStartup().to("mock:foo");
+
+                from("seda:bar?maxMessagesPerPoll=10&groupExchanges=true").routeId("bar").noAutoStartup().to("mock:bar");
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+import org.apache.camel.util.DirectByteBufferPool;
+
+/**
+ * @version 
+ */
+public class ByteBufferInputStreamCacheTest extends TestCase {
+
+    public void testByteBufferInputStreamCache() throws Exception {
+        // use small chunks so the data spans several of them
+        DirectByteBufferPool pool = new DirectByteBufferPool(64, 4);
+
+        CachedByteBufferOutputStream out = new CachedByteBufferOutputStream(pool);
+        out.write("<foo>bar</foo>".getBytes());
+        out.write('!');
+        assertEquals(15, out.size());
+        assertEquals(16, pool.getUsed());
+
+        ByteBufferInputStreamCache cache = out.newInputStreamCache();
+        assertEquals(15, cache.length());
+        assertEquals('<', cache.read());
+
+        // write to should not consume the stream
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals("foo>bar</foo>!", bos.toString());
+        assertEquals(14, cache.available());
+
+        byte[] data = new byte[32];
+        assertEquals(14, cache.read(data, 0, data.length));
+        assertEquals(-1, cache.read(data, 0, data.length));
+
+        cache.reset();
+        bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals("<foo>bar</foo>!", bos.toString());
+
+        // continue reading after the chunks have been released
+        cache.reset();
+        assertEquals('<', cache.read());
+        out.close();
+        assertEquals(0, pool.getUsed());
+        assertEquals(16, pool.getAllocated());
+
+        assertEquals(14, cache.available());
+        bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals("foo>bar</foo>!", bos.toString());
+        cache.reset();
+        assertEquals(15, cache.read(data, 0, data.length));
+        assertEquals("<foo>bar</foo>!", new String(data, 0, 15));
+    }
+
+    public void testChunksReleasedWhileCacheInUse() throws Exception {
+        DirectByteBufferPool pool = new DirectByteBufferPool(16, 4);
+
+        CachedByteBufferOutputStream out = new CachedByteBufferOutputStream(pool);
+        out.write("Hello World".getBytes());
+        ByteBufferInputStreamCache cache = out.newInputStreamCache();
+        // closing the cache does not release the chunks as the cache can be reset and read again
+        cache.close();
+        assertEquals(12, pool.getUsed());
+
+        // closing the output stream releases the chunks, such as when the exchange is done
+        out.close();
+        assertEquals(0, pool.getUsed());
+
+        // so the chunks can be reused by another stream without affecting the cache
+        CachedByteBufferOutputStream other = new CachedByteBufferOutputStream(pool);
+        assertTrue(other.reserve(16));
+        other.write("Bye World!!!".getBytes());
+
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals("Hello World", bos.toString());
+
+        other.close();
+
+        try {
+            other.newInputStreamCache();
+            fail("Should have thrown exception");
+        } catch (IllegalStateException e) {
+            // expected as the chunks have been released
+        }
+    }
+
+    public void testPoolLimit() throws Exception {
+        DirectByteBufferPool pool = new DirectByteBufferPool(8, 4);
+
+        CachedByteBufferOutputStream out = new CachedByteBufferOutputStream(pool);
+        assertTrue(out.reserve(8));
+        assertFalse(out.reserve(9));
+        assertNull(pool.acquire());
+
+        out.close();
+        assertEquals(0, pool.getUsed());
+        assertNotNull(pool.acquire());
+
+        pool.clear();
+        assertEquals(4, pool.getAllocated());
+    }
+
+    public void testDetachedCacheNotReleasedTwice() throws Exception {
+        DirectByteBufferPool pool = new DirectByteBufferPool(16, 4);
+
+        CachedByteBufferOutputStream out = new CachedByteBufferOutputStream(pool);
+        out.write("Hello World".getBytes());
+        ByteBufferInputStreamCache cache = out.newInputStreamCache();
+        out.close();
+        assertEquals(0, pool.getUsed());
+
+        // the reference of the detached cache must not be released again when garbage collected
+        CachedByteBufferOutputStream other = new CachedByteBufferOutputStream(pool);
+        other.write("Bye World".getBytes());
+        cache = null;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+            CachedByteBufferOutputStream.releaseUnreachableViews();
+        }
+        assertEquals(12, pool.getUsed());
+        other.close();
+        assertEquals(0, pool.getUsed());
+    }
+
+}
@@ -29,6 +29,7 @@ import org.apache.camel.StreamCache;
 import org.apache.camel.converter.IOConverter;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.util.CollectionStringBuffer;
 import org.apache.camel.util.IOHelper;
@@ -226,6 +227,103 @@ public class CachedOutputStreamTest extends ContextTestSupport {
         IOHelper.close(cos);
     }
     
+    public void testCacheStreamToOffHeap() throws Exception {
+        context.getStreamCachingStrategy().setOffHeapMemoryLimit(64 * 1024);
+
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have no temp file", files.length, 0);
+
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+        assertEquals(64 * 1024, strategy.getOffHeapMemoryUsed());
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertTrue(cache.inMemory());
+        String temp = toString((InputStream)cache);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+        cache.reset();
+        temp = toString((InputStream)cache);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("The direct memory should be released", 0, strategy.getOffHeapMemoryUsed());
+        assertEquals("The direct memory should be pooled", 64 * 1024, strategy.getOffHeapMemoryAllocated());
+        IOHelper.close(cos);
+    }
+
+    public void testCacheStreamToOffHeapReadAfterExchangeDone() throws Exception {
+        context.getStreamCachingStrategy().setOffHeapMemoryLimit(64 * 1024);
+
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        StreamCache cache = cos.newStreamCache();
+
+        // such as a wire tap copy which outlives the exchange
+        exchange.getUnitOfWork().done(exchange);
+        IOHelper.close(cos);
+
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+        assertEquals("The direct memory should be released", 0, strategy.getOffHeapMemoryUsed());
+
+        // another exchange can reuse the direct memory without affecting the cache
+        Exchange other = new DefaultExchange(context);
+        other.setUnitOfWork(new DefaultUnitOfWork(other));
+        CachedOutputStream otherCos = new CachedOutputStream(other);
+        byte[] data = new byte[TEST_STRING.length()];
+        otherCos.write(data);
+        assertEquals(64 * 1024, strategy.getOffHeapMemoryUsed());
+
+        File file = new File("target/cachedir");
+        assertEquals("we should have no temp file", 0, file.list().length);
+
+        cache.reset();
+        assertEquals("Cached a wrong file", TEST_STRING, toString((InputStream)cache));
+
+        other.getUnitOfWork().done(other);
+        IOHelper.close(otherCos);
+    }
+
+    public void testCacheStreamToOffHeapOverflowToFile() throws Exception {
+        context.getStreamCachingStrategy().setOffHeapMemoryLimit(64 * 1024);
+
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+        assertEquals(64 * 1024, strategy.getOffHeapMemoryUsed());
+
+        // exceed the off-heap budget
+        byte[] data = new byte[64 * 1024];
+        cos.write(data);
+
+        File file = new File("target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have a temp file", files.length, 1);
+        assertEquals("The direct memory should be released", 0, strategy.getOffHeapMemoryUsed());
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertEquals(TEST_STRING.length() + data.length, cache.length());
+
+        exchange.getUnitOfWork().done(exchange);
+        ((InputStream)cache).close();
+
+        files = file.list();
+        assertEquals("we should have no temp file", files.length, 0);
+
+        IOHelper.close(cos);
+    }
+
     public void testCachedOutputStreamCustomBufferSize() throws Exception {
         // double the default buffer size
         context.getStreamCachingStrategy().setBufferSize(8192);
@@ -18,6 +18,8 @@ package org.apache.camel.converter.stream;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.util.IOHelper;
@@ -44,4 +46,47 @@ public class FileInputStreamCacheTest extends ContextTestSupport {
         IOHelper.close(cache, bos);
     }
 
+    public void testFileInputStreamCacheReset() throws Exception {
+        File file = new File(TEST_FILE);
+        FileInputStreamCache cache = new FileInputStreamCache(file);
+
+        String s = context.getTypeConverter().convertTo(String.class, cache);
+        assertTrue(s.contains("<firstName>James</firstName>"));
+        assertEquals(file.length(), s.length());
+
+        // the mapped file should be read again after reset
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(s, context.getTypeConverter().convertTo(String.class, bos));
+
+        cache.reset();
+        s = context.getTypeConverter().convertTo(String.class, cache);
+        assertTrue(s.contains("<firstName>James</firstName>"));
+
+        IOHelper.close(cache, bos);
+    }
+
+    public void testFileInputStreamCacheNotMemoryMapped() throws Exception {
+        deleteDirectory("target/cache");
+        createDirectory("target/cache");
+        File file = new File("target/cache/test.xml");
+        FileOutputStream fos = new FileOutputStream(file);
+        IOHelper.copyAndCloseInput(new FileInputStream(TEST_FILE), fos);
+        fos.close();
+
+        FileInputStreamCache cache = new FileInputStreamCache(file, null, false);
+        String s = context.getTypeConverter().convertTo(String.class, cache);
+        assertTrue(s.contains("<firstName>James</firstName>"));
+
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(s, context.getTypeConverter().convertTo(String.class, bos));
+
+        // the file is not mapped so it can be deleted when closed, also on Windows
+        IOHelper.close(cache, bos);
+        assertTrue("Should be able to delete the file", file.delete());
+    }
+
 }
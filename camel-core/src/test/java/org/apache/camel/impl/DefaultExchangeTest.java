@@ -18,11 +18,15 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangeTestSupport;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
+import org.apache.camel.MessageHistory;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.TypeConversionException;
 import org.apache.camel.util.ObjectHelper;
@@ -146,6 +150,91 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
                      sourceIn.getClass(), destIn.getClass());
     }
 
+    public void testCopyProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.setProperty("foo", 123);
+        sourceExchange.setProperty("bar", "cheese");
+
+        Exchange copy = sourceExchange.copy();
+        assertEquals(123, copy.getProperty("foo"));
+        assertEquals("cheese", copy.getProperty("bar"));
+
+        // changing the copy should not affect the source, and vice versa
+        copy.setProperty("foo", 456);
+        copy.removeProperty("bar");
+        sourceExchange.setProperty("beer", "Carlsberg");
+
+        assertEquals(123, sourceExchange.getProperty("foo"));
+        assertEquals("cheese", sourceExchange.getProperty("bar"));
+        assertEquals("Carlsberg", sourceExchange.getProperty("beer"));
+        assertEquals(456, copy.getProperty("foo"));
+        assertNull(copy.getProperty("bar"));
+        assertNull(copy.getProperty("beer"));
+
+        // and changing the map returned from getProperties should not affect the other either
+        sourceExchange.copy().getProperties().put("foo", 789);
+        assertEquals(123, sourceExchange.getProperty("foo"));
+    }
+
+    public void testCopyOfCopyProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.setProperty("foo", 123);
+        sourceExchange.setProperty("bar", "cheese");
+
+        Exchange copy = sourceExchange.copy();
+        copy.setProperty("foo", 456);
+        Exchange copyOfCopy = copy.copy();
+
+        // changing the copy should not affect the copy of the copy
+        copy.setProperty("foo", 789);
+        copy.removeProperty("bar");
+        copyOfCopy.setProperty("beer", "Carlsberg");
+
+        assertEquals(789, copy.getProperty("foo"));
+        assertNull(copy.getProperty("bar"));
+        assertNull(copy.getProperty("beer"));
+        assertEquals(456, copyOfCopy.getProperty("foo"));
+        assertEquals("cheese", copyOfCopy.getProperty("bar"));
+        assertEquals("Carlsberg", copyOfCopy.getProperty("beer"));
+        assertEquals(3, copyOfCopy.getProperties().size());
+        assertEquals(2, sourceExchange.getProperties().size());
+        assertEquals(123, sourceExchange.getProperty("foo"));
+    }
+
+    public void testCopyOnlyKeepsChangedProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        for (int i = 0; i < 100; i++) {
+            sourceExchange.setProperty("key" + i, i);
+        }
+
+        Exchange copy = sourceExchange.copy();
+        copy.setProperty("key1", "changed");
+        copy.setProperty(Exchange.SPLIT_INDEX, 0);
+
+        // the copy keeps only its changes on top of the properties of the source
+        LayeredPropertiesMap properties = assertIsInstanceOf(LayeredPropertiesMap.class, copy.getProperties());
+        assertEquals(2, properties.getLocalSize());
+        assertEquals(101, properties.size());
+        assertEquals("changed", properties.get("key1"));
+        assertEquals(1, sourceExchange.getProperty("key1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testCopyMessageHistory() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        List<MessageHistory> history = new ArrayList<MessageHistory>();
+        sourceExchange.setProperty(Exchange.MESSAGE_HISTORY, history);
+
+        Exchange copy = sourceExchange.copy();
+        List<MessageHistory> copyHistory = copy.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertNotNull(copyHistory);
+        assertNotSame(history, copyHistory);
+
+        copyHistory.add(new DefaultMessageHistory("myRoute", null, new Date()));
+        assertEquals(0, sourceExchange.getProperty(Exchange.MESSAGE_HISTORY, List.class).size());
+        assertEquals(1, copy.getProperty(Exchange.MESSAGE_HISTORY, List.class).size());
+    }
+
     public static class MyMessage extends DefaultMessage {
         @Override
         public MyMessage newInstance() {
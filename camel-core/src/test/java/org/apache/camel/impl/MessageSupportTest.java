@@ -22,6 +22,7 @@ import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
+import org.apache.camel.util.FastHeadersMap;
 
 /**
  * @version 
@@ -83,4 +84,24 @@ public class MessageSupportTest extends ContextTestSupport {
         assertEquals(123, in.getHeader("foo"));
         assertEquals(123, out.getHeader("foo"));
     }
-}
\ No newline at end of file
+
+    public void testCopyFastHeadersMap() {
+        context.setHeadersMapFactory(new FastHeadersMapFactory());
+        Exchange exchange = new DefaultExchange(context);
+
+        Message in = exchange.getIn();
+        in.setHeader("foo", 123);
+        assertIsInstanceOf(FastHeadersMap.class, in.getHeaders());
+
+        Exchange copy = exchange.copy();
+        assertIsInstanceOf(FastHeadersMap.class, copy.getIn().getHeaders());
+        assertEquals(123, copy.getIn().getHeader("FOO"));
+
+        // the headers are copy-on-write so changing the copy must not affect the original
+        copy.getIn().setHeader("foo", 456);
+        copy.getIn().setHeader("bar", "beer");
+        assertEquals(123, in.getHeader("foo"));
+        assertNull(in.getHeader("bar"));
+        assertEquals(456, copy.getIn().getHeader("foo"));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * Tests that the splitted exchanges share the properties of the exchange being splitted, and only keep
+ * their own properties such as the split index.
+ *
+ * @version 
+ */
+public class SplitPropertiesNotCopiedTest extends ContextTestSupport {
+
+    private final List<Map<String, Object>> splitProperties = new CopyOnWriteArrayList<Map<String, Object>>();
+
+    public void testSplitPropertiesNotCopied() throws Exception {
+        getMockEndpoint("mock:split").expectedBodiesReceived("A", "B", "C");
+        getMockEndpoint("mock:split").expectedPropertyReceived("key42", 42);
+
+        template.sendBody("direct:start", "A,B,C");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(3, splitProperties.size());
+        Map<String, Object> parent = null;
+        for (Map<String, Object> map : splitProperties) {
+            LayeredPropertiesMap properties = assertIsInstanceOf(LayeredPropertiesMap.class, map);
+            // should only keep the properties set by the splitter, and not copy the 100 properties
+            assertTrue("Should not copy the properties, was: " + properties.getLocalSize(), properties.getLocalSize() < 10);
+            assertTrue(properties.size() > 100);
+            // and all the splitted exchanges share the same properties
+            if (parent == null) {
+                parent = properties.getParent();
+            }
+            assertSame(parent, properties.getParent());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            for (int i = 0; i < 100; i++) {
+                                exchange.setProperty("key" + i, i);
+                            }
+                        }
+                    })
+                    .split(body().tokenize(","))
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                splitProperties.add(exchange.getProperties());
+                            }
+                        })
+                        .to("mock:split");
+            }
+        };
+    }
+}
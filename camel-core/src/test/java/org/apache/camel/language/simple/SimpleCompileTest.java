@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Expression;
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Predicate;
+import org.apache.camel.builder.CompiledOgnlExpression;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+
+/**
+ * @version 
+ */
+public class SimpleCompileTest extends ExchangeTestSupport {
+
+    private SimpleLanguage simple;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        simple = new SimpleLanguage();
+        simple.setCompile(true);
+    }
+
+    public void testCompiledOgnl() throws Exception {
+        exchange.getIn().setBody(new Animal("Tony", new Animal("Kong", null)));
+
+        Expression expression = simple.createExpression("${body.friend.name}");
+        assertIsInstanceOf(CompiledOgnlExpression.class, expression);
+        assertEquals("Kong", expression.evaluate(exchange, String.class));
+        assertEquals("Kong", expression.evaluate(exchange, String.class));
+
+        assertEquals(Boolean.TRUE, simple.createExpression("${body.friend.dangerous}").evaluate(exchange, Object.class));
+        assertEquals("Tony", simple.createExpression("${body.getName()}").evaluate(exchange, Object.class));
+        assertEquals("Kong", simple.createExpression("${body.attributes[friend]}").evaluate(exchange, Object.class));
+        assertEquals("Kong", simple.createExpression("${body.attributes['friend']}").evaluate(exchange, Object.class));
+    }
+
+    public void testCompiledOgnlNullSafe() throws Exception {
+        exchange.getIn().setBody(new Animal("Kong", null));
+
+        assertNull(simple.createExpression("${body?.friend.name}").evaluate(exchange, Object.class));
+
+        try {
+            simple.createExpression("${body.friend.name}").evaluate(exchange, Object.class);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertEquals("Failed to invoke method: .friend.name on null due to: java.lang.NullPointerException", e.getMessage());
+            assertIsInstanceOf(NullPointerException.class, e.getCause());
+        }
+    }
+
+    public void testCompiledOgnlFallback() throws Exception {
+        exchange.getIn().setBody(new Animal("Tony", new Animal("Kong", null)));
+
+        // methods with parameters are not compiled
+        Expression expression = simple.createExpression("${body.greet('World')}");
+        assertFalse(expression instanceof CompiledOgnlExpression);
+        assertEquals("Hello World from Tony", expression.evaluate(exchange, String.class));
+
+        // list index and overloaded methods fall back when evaluating
+        assertEquals("Tony", simple.createExpression("${body.names[0]}").evaluate(exchange, Object.class));
+        assertEquals("Kong", simple.createExpression("${body.names[last]}").evaluate(exchange, Object.class));
+        assertEquals("Hello from Kong", simple.createExpression("${body.friend.greet()}").evaluate(exchange, String.class));
+    }
+
+    public void testCompiledPredicate() throws Exception {
+        exchange.getIn().setBody(new Animal("Tony", new Animal("Kong", null)));
+
+        Predicate predicate = simple.createPredicate("${body.friend.name} == 'Kong' && ${body.dangerous} == false");
+        assertTrue(predicate.matches(exchange));
+
+        predicate = simple.createPredicate("${body.attributes[friend]} contains 'on'");
+        assertTrue(predicate.matches(exchange));
+    }
+
+    public static class Animal {
+        private final String name;
+        private final Animal friend;
+
+        public Animal(String name, Animal friend) {
+            this.name = name;
+            this.friend = friend;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Animal getFriend() {
+            return friend;
+        }
+
+        public boolean isDangerous() {
+            return friend == null;
+        }
+
+        public Map<String, String> getAttributes() {
+            Map<String, String> answer = new HashMap<String, String>();
+            answer.put("friend", friend != null ? friend.getName() : null);
+            return answer;
+        }
+
+        public List<String> getNames() {
+            List<String> answer = new ArrayList<String>();
+            answer.add(name);
+            if (friend != null) {
+                answer.add(friend.getName());
+            }
+            return answer;
+        }
+
+        public String greet() {
+            return "Hello from " + name;
+        }
+
+        public String greet(String who) {
+            return "Hello " + who + " from " + name;
+        }
+    }
+
+}
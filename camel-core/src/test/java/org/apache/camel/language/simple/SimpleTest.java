@@ -77,6 +77,35 @@ public class SimpleTest extends LanguageTestSupport {
         assertEquals(Boolean.FALSE, expression.evaluate(exchange, Object.class));
     }
 
+    public void testCachedExpression() throws Exception {
+        SimpleLanguage simple = new SimpleLanguage();
+
+        Expression expression = simple.createExpression("Hello ${body}");
+        assertSame(expression, simple.createExpression("Hello ${body}"));
+        assertSame(simple.createPredicate("${body} == 'Camel'"), simple.createPredicate("${body} == 'Camel'"));
+        assertEquals(2, simple.getCacheCurrentSize());
+        assertEquals(2, simple.getCacheHits());
+        assertEquals(2, simple.getCacheMisses());
+
+        // disable the cache
+        simple.setCacheSize(0);
+        assertNotSame(expression, simple.createExpression("Hello ${body}"));
+        assertEquals(0, simple.getCacheCurrentSize());
+    }
+
+    public void testCachedExpressionAllowEscape() throws Exception {
+        exchange.getIn().setBody("Something");
+        EscapeSimpleLanguage simple = new EscapeSimpleLanguage();
+
+        assertEquals("\nSomething", simple.createExpression("\\n${body}").evaluate(exchange, String.class));
+        // the same text should not use the cached expression when escaping is not allowed
+        simple.setAllowEscape(false);
+        assertEquals("\\nSomething", simple.createExpression("\\n${body}").evaluate(exchange, String.class));
+        simple.setAllowEscape(true);
+        assertEquals("\nSomething", simple.createExpression("\\n${body}").evaluate(exchange, String.class));
+        assertEquals(2, simple.getCacheCurrentSize());
+    }
+
     public void testResultType() throws Exception {
         assertEquals(123, SimpleLanguage.simple("${header.bar}", int.class).evaluate(exchange, Object.class));
         assertEquals("123", SimpleLanguage.simple("${header.bar}", String.class).evaluate(exchange, Object.class));
@@ -1402,4 +1431,10 @@ public class SimpleTest extends LanguageTestSupport {
             return name;
         }
     }
+
+    private static final class EscapeSimpleLanguage extends SimpleLanguage {
+        void setAllowEscape(boolean allowEscape) {
+            this.allowEscape = allowEscape;
+        }
+    }
 }
@@ -84,6 +84,12 @@ public class ManagedRoutePerformanceCounterTest extends ManagementTestSupport {
         assertTrue("Should take around 3 sec: was " + last, last > 2900);
         assertTrue("Should be around 5 sec now: was " + total, total > 4900);
 
+        Long max = (Long) mbeanServer.getAttribute(on, "MaxProcessingTime");
+        Long p50 = (Long) mbeanServer.getAttribute(on, "P50ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        assertTrue("Should take around 3 sec: was " + p50, p50 > 2900 && p50 <= max);
+        assertTrue("Should take around 3 sec: was " + p99, p99 >= p50 && p99 <= max);
+
         Date reset = (Date) mbeanServer.getAttribute(on, "ResetTimestamp");
         assertNotNull(reset);
 
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.SimpleBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedSimpleLanguageTest extends ManagementTestSupport {
+
+    public void testManageSimpleLanguage() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=services,name=SimpleLanguage,*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        // only count the dynamic expressions
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World", "Hello Camel", "Hello Moon");
+
+        template.sendBody("direct:start", "World");
+        template.sendBody("direct:start", "Camel");
+        template.sendBody("direct:start", "Moon");
+
+        assertMockEndpointsSatisfied();
+
+        Integer max = (Integer) mbeanServer.getAttribute(on, "MaximumCacheSize");
+        assertEquals(1000, max.intValue());
+
+        // the expression in the route and the dynamic expression
+        Integer size = (Integer) mbeanServer.getAttribute(on, "Size");
+        assertEquals(2, size.intValue());
+
+        // the dynamic expression is only parsed the first time
+        Long hits = (Long) mbeanServer.getAttribute(on, "Hits");
+        assertEquals(2, hits.longValue());
+        Long misses = (Long) mbeanServer.getAttribute(on, "Misses");
+        assertEquals(1, misses.longValue());
+        Double ratio = (Double) mbeanServer.getAttribute(on, "HitRatio");
+        assertEquals(66.6, ratio.doubleValue(), 0.1);
+
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+        hits = (Long) mbeanServer.getAttribute(on, "Hits");
+        assertEquals(0, hits.longValue());
+
+        mbeanServer.invoke(on, "purge", null, null);
+        size = (Integer) mbeanServer.getAttribute(on, "Size");
+        assertEquals(0, size.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setHeader("greeting").simple("Hello ${body}")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // create the expression on each message as a dynamic expression would be
+                            String greeting = SimpleBuilder.simple("${header.greeting}").evaluate(exchange, String.class);
+                            exchange.getIn().setBody(greeting);
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Iterator;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version
+ */
+public class ManagedSplitterInflightTest extends ManagementTestSupport {
+
+    public void testManageSplitterInflight() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        getMockEndpoint("mock:line").expectedMessageCount(200);
+
+        // a lazy iterator which is pulled from as the window has room
+        template.sendBody("direct:start", new Iterable<Integer>() {
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+                    private int count;
+
+                    public boolean hasNext() {
+                        return count < 200;
+                    }
+
+                    public Integer next() {
+                        return count++;
+                    }
+
+                    public void remove() {
+                    }
+                };
+            }
+        });
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"mysplitter\"");
+
+        Integer max = (Integer) mbeanServer.getAttribute(on, "MaxInflightTasks");
+        assertEquals(5, max.intValue());
+
+        Integer peak = (Integer) mbeanServer.getAttribute(on, "PeakInflightTasks");
+        assertTrue("Peak should be at most 5, was: " + peak, peak > 0 && peak <= 5);
+
+        Integer current = (Integer) mbeanServer.getAttribute(on, "InflightTasks");
+        assertEquals(0, current.intValue());
+
+        Long full = (Long) mbeanServer.getAttribute(on, "InflightWindowFullCount");
+        assertTrue("Window should have been full, was: " + full, full > 0);
+
+        mbeanServer.invoke(on, "resetInflightStatistics", null, null);
+        full = (Long) mbeanServer.getAttribute(on, "InflightWindowFullCount");
+        assertEquals(0, full.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body()).streaming().parallelProcessing().maxInflightTasks(5).id("mysplitter")
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                Thread.sleep(2);
+                            }
+                        })
+                        .to("mock:line")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -65,6 +65,12 @@ public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
         Integer size = (Integer) mbeanServer.getAttribute(name, "BufferSize");
         assertEquals(IOHelper.DEFAULT_BUFFER_SIZE, size.intValue());
 
+        Long offHeap = (Long) mbeanServer.getAttribute(name, "OffHeapMemoryLimit");
+        assertEquals(0, offHeap.longValue());
+
+        offHeap = (Long) mbeanServer.getAttribute(name, "OffHeapMemoryUsed");
+        assertEquals(0, offHeap.longValue());
+
         Long counter = (Long) mbeanServer.getAttribute(name, "CacheMemoryCounter");
         assertEquals(0, counter.longValue());
 
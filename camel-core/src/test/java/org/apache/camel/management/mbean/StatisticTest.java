@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class StatisticTest extends TestCase {
+
+    public void testUpdateModes() {
+        Statistic min = new Statistic("min", this, Statistic.UpdateMode.MINIMUM);
+        Statistic max = new Statistic("max", this, Statistic.UpdateMode.MAXIMUM);
+        Statistic counter = new Statistic("counter", this, Statistic.UpdateMode.COUNTER);
+        Statistic delta = new Statistic("delta", this, Statistic.UpdateMode.DELTA);
+        assertEquals(0, min.getValue());
+        assertEquals(0, max.getValue());
+
+        for (long value : new long[]{5, 3, 8}) {
+            min.updateValue(value);
+            max.updateValue(value);
+            counter.updateValue(value);
+            delta.updateValue(value);
+        }
+
+        assertEquals(3, min.getValue());
+        assertEquals(8, max.getValue());
+        assertEquals(16, counter.getValue());
+        assertEquals(5, delta.getValue());
+        assertEquals(3, counter.getUpdateCount());
+
+        min.reset();
+        counter.reset();
+        assertEquals(0, min.getValue());
+        assertEquals(0, counter.getValue());
+        assertEquals(0, counter.getUpdateCount());
+    }
+
+}
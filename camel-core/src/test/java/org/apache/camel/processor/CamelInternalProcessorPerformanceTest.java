@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Measures the per step overhead of the routing engine, using a route with 20 steps which does nothing.
+ */
+public class CamelInternalProcessorPerformanceTest extends ContextTestSupport {
+
+    private static final int STEPS = 20;
+    private int size = 200000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        for (int i = 0; i < size; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < size; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        long taken = watch.stop();
+        log.info("Took " + taken + " millis to route " + size + " messages through " + STEPS + " steps, "
+            + (taken * 1000000L / size / STEPS) + " nanos per step");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                Processor noop = new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        // noop
+                    }
+                };
+
+                RouteDefinition route = from("direct:start");
+                for (int i = 0; i < STEPS; i++) {
+                    route.process(noop);
+                }
+            }
+        };
+    }
+}
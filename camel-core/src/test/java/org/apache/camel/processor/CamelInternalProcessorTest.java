@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultExchange;
+
+public class CamelInternalProcessorTest extends ContextTestSupport {
+
+    private final List<String> calls = new ArrayList<String>();
+
+    public void testAdvicesInOrder() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+        internal.addAdvice(new MyAdvice("a", null));
+        internal.addAdvice(new MyAdvice("b", "state"));
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[before-a, before-b, process, after-b-state, after-a-null]", calls.toString());
+    }
+
+    public void testSkipAfterWithoutState() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+        internal.addAdvice(new MyAfterWithStateAdvice("a", null));
+        internal.addAdvice(new MyAfterWithStateAdvice("b", "state"));
+        internal.addAdvice(new MyAfterWithStateAdvice("c", null));
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[before-a, before-b, before-c, process, after-b-state]", calls.toString());
+    }
+
+    public void testNoAfterWithoutState() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+        internal.addAdvice(new MyAfterWithStateAdvice("a", null));
+        internal.addAdvice(new MyAfterWithStateAdvice("b", null));
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[before-a, before-b, process]", calls.toString());
+        assertNotNull(internal.getAdvice(MyAfterWithStateAdvice.class));
+        assertNull(internal.getAdvice(MyAdvice.class));
+    }
+
+    public void testNoAdvices() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(new MyProcessor());
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[process]", calls.toString());
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    private class MyProcessor implements Processor {
+
+        public void process(Exchange exchange) throws Exception {
+            calls.add("process");
+        }
+    }
+
+    private class MyAdvice implements CamelInternalProcessorAdvice<String> {
+        private final String name;
+        private final String state;
+
+        MyAdvice(String name, String state) {
+            this.name = name;
+            this.state = state;
+        }
+
+        public String before(Exchange exchange) throws Exception {
+            calls.add("before-" + name);
+            return state;
+        }
+
+        public void after(Exchange exchange, String data) throws Exception {
+            calls.add("after-" + name + "-" + data);
+        }
+    }
+
+    private class MyAfterWithStateAdvice extends MyAdvice implements CamelInternalProcessor.AfterWithStateAdvice<String> {
+
+        MyAfterWithStateAdvice(String name, String state) {
+            super(name, state);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.processor.idempotent.FileIdempotentRepository;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.LRUCache;
+
+/**
+ * @version 
+ */
+public class FileIdempotentCompactStoreTest extends ContextTestSupport {
+    private File store = new File("target/idempotentcompactstore.dat");
+
+    @Override
+    protected void setUp() throws Exception {
+        FileUtil.deleteFile(store);
+        super.setUp();
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testCompactInBackground() throws Exception {
+        FileIdempotentRepository repo = new FileIdempotentRepository(store, new LRUCache<String, Object>(10));
+        repo.setMaxFileStoreSize(100);
+        repo.setCamelContext(context);
+        repo.start();
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        assertFalse(repo.add("key199"));
+
+        // wait for the store to be compacted, which is smaller than all the keys appended
+        for (int i = 0; i < 50 && store.length() >= 1290; i++) {
+            Thread.sleep(100);
+        }
+        assertTrue("The store should be compacted", store.length() < 1290);
+
+        // the last keys must be kept, also those appended while compacting
+        FileIdempotentRepository repo2 = new FileIdempotentRepository(store, new LRUCache<String, Object>(200));
+        repo2.start();
+        for (int i = 190; i < 200; i++) {
+            assertTrue(repo2.contains("key" + i));
+        }
+        assertFalse(repo2.contains("key0"));
+        repo2.stop();
+
+        repo.stop();
+    }
+
+    public void testSyncInterval() throws Exception {
+        FileIdempotentRepository repo = new FileIdempotentRepository(store, new LRUCache<String, Object>(100));
+        repo.setSyncInterval(100);
+        repo.setCamelContext(context);
+        repo.start();
+
+        assertTrue(repo.add("foo"));
+        assertTrue(repo.add("bar"));
+
+        // the keys are flushed to disk in the background
+        for (int i = 0; i < 50 && store.length() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals("foo\nbar\n".length(), store.length());
+
+        FileIdempotentRepository repo2 = new FileIdempotentRepository(store, new LRUCache<String, Object>(100));
+        repo2.start();
+        assertTrue(repo2.contains("foo"));
+        assertTrue(repo2.contains("bar"));
+        repo2.stop();
+
+        repo.stop();
+    }
+
+}
@@ -54,6 +54,8 @@ public class FileIdempotentTrunkStoreTest extends ContextTestSupport {
 
         // should trunk the file store
         sendMessage("ZZZZZZZZZZ", "Z");
+        // the store is trunked using a temporary file which should be gone
+        assertFalse(new File(store.getPath() + ".tmp").exists());
 
         // load in new store and verify we only have the last 5 elements
         IdempotentRepository<String> repo2 = FileIdempotentRepository.fileIdempotentRepository(store);
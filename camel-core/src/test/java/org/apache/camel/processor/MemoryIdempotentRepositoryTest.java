@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.util.LRUWeakCache;
+
+/**
+ * @version 
+ */
+public class MemoryIdempotentRepositoryTest extends TestCase {
+
+    public void testAddContainsRemove() throws Exception {
+        MemoryIdempotentRepository repo = new MemoryIdempotentRepository();
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+        assertFalse(repo.contains("B"));
+        assertTrue(repo.remove("A"));
+        assertFalse(repo.remove("A"));
+        assertTrue(repo.add("A"));
+
+        assertEquals(2, repo.getHits());
+        assertEquals(3, repo.getMisses());
+
+        repo.resetStatistics();
+        assertEquals(0, repo.getHits());
+        assertEquals(0, repo.getMisses());
+
+        repo.stop();
+    }
+
+    public void testEvicted() throws Exception {
+        MemoryIdempotentRepository repo = new MemoryIdempotentRepository();
+        repo.setCacheSize(10);
+        repo.start();
+
+        for (int i = 0; i < 15; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        assertEquals(10, repo.getCacheSize());
+        assertEquals(5, repo.getEvicted());
+
+        repo.stop();
+    }
+
+    public void testTimeToLive() throws Exception {
+        MemoryIdempotentRepository repo = new MemoryIdempotentRepository();
+        repo.setTimeToLive(100);
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+
+        Thread.sleep(200);
+
+        assertFalse(repo.contains("A"));
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+
+        repo.stop();
+    }
+
+    public void testWeakCacheClearedValue() throws Exception {
+        LRUWeakCache<String, Object> cache = new LRUWeakCache<String, Object>(1000);
+        MemoryIdempotentRepository repo = new MemoryIdempotentRepository(cache);
+        // use time to live so the stored value is not the key, and thus can be garbage collected
+        repo.setTimeToLive(60000);
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        for (int i = 0; i < 50 && cache.get("A") != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(cache.get("A"));
+
+        // the key must be stored again when its value has been garbage collected
+        assertTrue(repo.add("A"));
+        // keep a reference to the stored value so it is not garbage collected again
+        Object value = cache.get("A");
+        assertNotNull(value);
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+        assertSame(value, cache.get("A"));
+
+        repo.stop();
+    }
+
+    public void testNonConcurrentMap() throws Exception {
+        MemoryIdempotentRepository repo = new MemoryIdempotentRepository(new HashMap<String, Object>());
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.remove("A"));
+        assertFalse(repo.contains("A"));
+
+        repo.stop();
+    }
+
+    public void testConcurrentAdd() throws Exception {
+        final MemoryIdempotentRepository repo = new MemoryIdempotentRepository();
+        repo.start();
+
+        final AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        Future<?>[] futures = new Future<?>[20];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    for (int j = 0; j < 500; j++) {
+                        if (repo.add("key" + j)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdownNow();
+
+        // each key should only be added once
+        assertEquals(500, added.get());
+
+        repo.stop();
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitterParallelAggregateTest extends ContextTestSupport {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    public void testSplitParallelAggregate() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(5050);
+
+        template.sendBody("direct:start", createNumbers(100));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSplitMaxInflightTasks() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(5050);
+
+        template.sendBody("direct:inflight", createNumbers(100));
+
+        assertMockEndpointsSatisfied();
+        assertTrue("Should be at most 3 tasks in flight, was: " + maxRunning.get(), maxRunning.get() <= 3);
+    }
+
+    public void testSplitMaxInflightTasksTimeout() throws Exception {
+        NumberIterator numbers = new NumberIterator(100000);
+        template.sendBody("direct:inflightTimeout", numbers);
+
+        // should stop pulling from the iterator when timed out
+        assertTrue("Should stop splitting after timeout, was: " + numbers.getPulled(), numbers.getPulled() < 100);
+    }
+
+    public void testSplitMaxInflightTasksStopOnException() throws Exception {
+        NumberIterator numbers = new NumberIterator(100000);
+        try {
+            template.sendBody("direct:inflightStopOnException", numbers);
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause().getCause());
+        }
+
+        // should stop pulling from the iterator when stopped on exception
+        assertTrue("Should stop splitting after exception, was: " + numbers.getPulled(), numbers.getPulled() < 100);
+    }
+
+    private static List<Integer> createNumbers(int size) {
+        List<Integer> answer = new ArrayList<Integer>(size);
+        for (int i = 1; i <= size; i++) {
+            answer.add(i);
+        }
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new SumAggregationStrategy()).parallelProcessing().parallelAggregate()
+                        .to("log:split?groupSize=100")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:inflight")
+                    .split(body(), new SumAggregationStrategy()).parallelProcessing().maxInflightTasks(3)
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                int current = running.incrementAndGet();
+                                int max = maxRunning.get();
+                                while (current > max && !maxRunning.compareAndSet(max, current)) {
+                                    max = maxRunning.get();
+                                }
+                                Thread.sleep(5);
+                                running.decrementAndGet();
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+
+                from("direct:inflightTimeout")
+                    .split(body(), new SumAggregationStrategy()).parallelProcessing().maxInflightTasks(2).timeout(100)
+                        .delay(1000)
+                    .end()
+                    .to("mock:result");
+
+                from("direct:inflightStopOnException")
+                    .split(body(), new SumAggregationStrategy()).parallelProcessing().maxInflightTasks(2).stopOnException()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                if (exchange.getIn().getBody(Integer.class) == 1) {
+                                    throw new IllegalArgumentException("Forced");
+                                }
+                                Thread.sleep(200);
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    /**
+     * An iterator of numbers which counts how many numbers have been pulled.
+     */
+    private static final class NumberIterator implements Iterator<Integer> {
+        private final int size;
+        private final AtomicInteger pulled = new AtomicInteger();
+
+        private NumberIterator(int size) {
+            this.size = size;
+        }
+
+        public boolean hasNext() {
+            return pulled.get() < size;
+        }
+
+        public Integer next() {
+            return pulled.incrementAndGet();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getPulled() {
+            return pulled.get();
+        }
+    }
+
+    private static final class SumAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            int sum = oldExchange.getIn().getBody(Integer.class) + newExchange.getIn().getBody(Integer.class);
+            oldExchange.getIn().setBody(sum);
+            return oldExchange;
+        }
+    }
+}
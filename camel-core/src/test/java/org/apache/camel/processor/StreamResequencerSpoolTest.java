@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+public class StreamResequencerSpoolTest extends ContextTestSupport {
+
+    public void testSpoolExchangesAboveInMemoryCapacity() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("msg1", "msg2", "msg3", "msg4", "msg5", "msg6", "msg7", "msg8");
+        mock.expectedHeaderReceived("foo", "bar");
+
+        // only 3 fits in memory, so the highest are spooled to disk
+        for (long i = 8; i > 1; i--) {
+            template.sendBodyAndHeader("direct:start", "msg" + i, "seqnum", i);
+        }
+        template.sendBodyAndHeader("direct:start", "msg1", "seqnum", 1L);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSpoolInterleaved() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("msg1", "msg2", "msg3", "msg4", "msg5", "msg6", "msg7", "msg8");
+
+        long[] order = new long[]{5, 8, 3, 6, 2, 7, 4, 1};
+        for (long i : order) {
+            template.sendBodyAndHeader("direct:start", "msg" + i, "seqnum", i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSpoolStreamBody() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("msg1", "msg2", "msg3", "msg4", "msg5", "msg6");
+
+        for (long i = 6; i > 0; i--) {
+            template.sendBodyAndHeader("direct:start", new ByteArrayInputStream(("msg" + i).getBytes()), "seqnum", i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testNotSerializableHeaderRejected() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(0);
+
+        try {
+            template.sendBodyAndHeader("direct:start", "msg1", "seqnum", new Object());
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(RuntimeExchangeException.class, e.getCause());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start")
+                    .setHeader("foo", constant("bar"))
+                    .resequence(header("seqnum")).stream().inMemoryCapacity(3).timeout(1000)
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -20,10 +20,12 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.impl.DefaultExchange;
-import org.apache.camel.processor.Throttler.TimeSlot;
+import org.apache.camel.processor.Throttler.ThrottleState;
+import org.apache.camel.util.ServiceHelper;
 
 import static org.apache.camel.builder.Builder.constant;
 
@@ -74,37 +76,91 @@ public class ThrottlerTest extends ContextTestSupport {
         executor.shutdownNow();
     }
 
-    public void testTimeSlotCalculus() throws Exception {
+    public void testBurstThenSpreadEvenly() throws Exception {
         Throttler throttler = new Throttler(context, null, constant(3), 1000, null, false);
-        // calculate will assign a new slot
-        throttler.calculateDelay(new DefaultExchange(context));
-        TimeSlot slot = throttler.nextSlot();
-        // start a new time slot
-        assertNotNull(slot);
-        // make sure the same slot is used (3 exchanges per slot)
-        assertSame(slot, throttler.nextSlot());
-        assertTrue(slot.isFull());
-        assertTrue(slot.isActive());
-
-        TimeSlot next = throttler.nextSlot();
-        // now we should have a new slot that starts somewhere in the future
-        assertNotSame(slot, next);
-        assertFalse(next.isActive());
+        // the first 3 exchanges can pass as a burst
+        assertEquals(0, throttler.calculateDelay(new DefaultExchange(context)));
+        assertEquals(0, throttler.calculateDelay(new DefaultExchange(context)));
+        assertEquals(0, throttler.calculateDelay(new DefaultExchange(context)));
+
+        // and then they are spread out evenly in the time period
+        long delay = throttler.calculateDelay(new DefaultExchange(context));
+        assertTrue("Should be delayed, was: " + delay, delay > 0 && delay <= 334);
+        long delay2 = throttler.calculateDelay(new DefaultExchange(context));
+        assertTrue("Should be delayed longer, was: " + delay2, delay2 > delay && delay2 <= 667);
     }
 
-    public void testTimeSlotCalculusForPeriod() throws InterruptedException {
-        Throttler throttler = new Throttler(context, null, constant(3), 1000, null, false);
-        throttler.calculateDelay(new DefaultExchange(context));
+    public void testThrottleState() throws Exception {
+        // use a fixed clock, 4 permits per 100 nanos
+        ThrottleState state = new ThrottleState(0);
+        assertTrue(state.acquire(0, 4, 100) <= 0);
+        assertTrue(state.acquire(0, 4, 100) <= 0);
+        assertTrue(state.acquire(0, 4, 100) <= 0);
+        assertTrue(state.acquire(0, 4, 100) <= 0);
+        assertEquals(25, state.acquire(0, 4, 100));
+        assertEquals(50, state.acquire(0, 4, 100));
+        assertFalse(state.isIdle(0));
+
+        // after a while the burst capacity is available again
+        assertTrue(state.isIdle(150));
+        assertTrue(state.acquire(150, 4, 100) <= 0);
+        assertTrue(state.acquire(150, 4, 100) <= 0);
+        assertTrue(state.acquire(150, 4, 100) <= 0);
+        assertTrue(state.acquire(150, 4, 100) <= 0);
+        assertEquals(25, state.acquire(150, 4, 100));
+    }
+
+    public void testThrottlePerCorrelationKey() throws Exception {
+        MockEndpoint resultEndpoint = resolveMandatoryEndpoint("mock:result", MockEndpoint.class);
+        resultEndpoint.expectedMessageCount(messageCount);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < messageCount; i++) {
+            // each key has its own limit so they should not be throttled
+            template.sendBodyAndHeader("direct:correlation", "<message>payload</message>", "customer", "c" + i);
+        }
 
-        TimeSlot slot = throttler.getSlot();
-        assertNotNull(slot);
-        assertSame(slot, throttler.nextSlot());
+        resultEndpoint.assertIsSatisfied();
+
+        long delta = System.currentTimeMillis() - start;
+        long maxTime = (messageCount - 1) * INTERVAL;
+        assertTrue("Should take less than " + maxTime + "ms, was: " + delta, delta < maxTime);
 
-        // we've only used up two of three slots, but now we introduce a time delay
-        // so to make the slot not valid anymore
-        Thread.sleep((long) (1.5 * 1000));
-        assertFalse(slot.isActive());
-        assertNotSame(slot, throttler.nextSlot());
+        // but the same key should be throttled
+        resultEndpoint.reset();
+        resultEndpoint.expectedMessageCount(6);
+        start = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            template.sendBodyAndHeader("direct:correlation", "<message>payload</message>", "customer", "c" + i + "x");
+            template.sendBodyAndHeader("direct:correlation", "<message>payload</message>", "customer", "same");
+        }
+        resultEndpoint.assertIsSatisfied();
+
+        delta = System.currentTimeMillis() - start + 200;
+        long minimumTime = 2 * INTERVAL;
+        assertTrue("Should take at least " + minimumTime + "ms, was: " + delta, delta >= minimumTime);
+    }
+
+    public void testPurgeIdleCorrelationKeys() throws Exception {
+        Throttler throttler = new Throttler(context, null, constant(1), 100, null, false);
+        throttler.setCorrelationExpression(header("customer"));
+        ServiceHelper.startService(throttler);
+        try {
+            for (int i = 0; i < 10; i++) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getIn().setHeader("customer", "c" + i);
+                assertEquals(0, throttler.calculateDelay(exchange));
+            }
+            assertEquals(10, throttler.getThrottledKeysSize());
+
+            // the idle keys should be purged in the background
+            for (int i = 0; i < 50 && throttler.getThrottledKeysSize() > 0; i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, throttler.getThrottledKeysSize());
+        } finally {
+            ServiceHelper.stopService(throttler);
+        }
     }
 
     public void testConfigurationWithConstantExpression() throws Exception {
@@ -211,6 +267,9 @@ public class ThrottlerTest extends ContextTestSupport {
                 from("direct:expressionConstant").throttle(constant(1)).timePeriodMillis(INTERVAL).to("log:result", "mock:result");
 
                 from("direct:expressionHeader").throttle(header("throttleValue")).timePeriodMillis(INTERVAL).to("log:result", "mock:result");
+
+                from("direct:correlation").throttle(1).timePeriodMillis(INTERVAL).correlationExpression(header("customer"))
+                    .to("log:result", "mock:result");
             }
         };
     }
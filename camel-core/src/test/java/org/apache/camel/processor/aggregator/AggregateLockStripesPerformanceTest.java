@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.util.StopWatch;
+
+/**
+ * Compares the throughput of the aggregator using a single shared lock and lock striping
+ * with many distinct correlation keys and 1, 8 and 32 concurrent threads.
+ */
+public class AggregateLockStripesPerformanceTest extends ContextTestSupport {
+
+    private int keys = 1000;
+    private int size = 100000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        run("direct:shared", 8, 10000);
+        run("direct:striped", 8, 10000);
+
+        for (int threads : new int[]{1, 8, 32}) {
+            StopWatch watch = new StopWatch();
+            run("direct:shared", threads, size);
+            log.info("Shared lock with " + threads + " threads took " + watch.taken() + " ms");
+
+            watch.restart();
+            run("direct:striped", threads, size);
+            log.info("Striped locks with " + threads + " threads took " + watch.taken() + " ms");
+        }
+    }
+
+    private void run(final String uri, int threads, int count) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(count);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < count; i++) {
+            final int id = i % keys;
+            executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    template.sendBodyAndHeader(uri, "A", "id", id);
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue("Should all work", latch.await(5, TimeUnit.MINUTES));
+        executorService.shutdownNow();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:shared")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(10)
+                    .to("log:shared?level=OFF");
+
+                from("direct:striped")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(10).lockStripes(64)
+                    .to("log:striped?level=OFF");
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultExchange;
+
+public class SequenceSpoolTest extends ContextTestSupport {
+
+    private File dir = new File("target/spool");
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/spool");
+        createDirectory("target/spool");
+        super.setUp();
+    }
+
+    public void testSpoolInOrder() throws Exception {
+        SequenceSpool spool = new SequenceSpool(context, dir);
+        try {
+            assertTrue(spool.isEmpty());
+
+            long[] numbers = new long[]{7, 3, 9, 1, 5, 8, 2, 6, 4};
+            for (long number : numbers) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getIn().setBody("msg" + number);
+                exchange.getIn().setHeader("seqnum", number);
+                spool.add(number, exchange);
+            }
+            assertEquals(9, spool.size());
+            assertEquals(1, spool.firstSequenceNumber());
+            assertEquals(1, spool.getSegmentCount());
+            assertTrue(spool.getDiskSize() > 0);
+
+            for (long i = 1; i <= 9; i++) {
+                Exchange exchange = spool.removeFirst();
+                assertEquals("msg" + i, exchange.getIn().getBody());
+                assertEquals(Long.valueOf(i), exchange.getIn().getHeader("seqnum"));
+            }
+            assertTrue(spool.isEmpty());
+            assertNull(spool.removeFirst());
+            // the spool file is truncated when empty
+            assertEquals(0, spool.getDiskSize());
+        } finally {
+            spool.close();
+        }
+        assertEquals(0, dir.list().length);
+    }
+
+    public void testSegmentsReclaimed() throws Exception {
+        // use tiny segments so each exchange starts a new segment
+        SequenceSpool spool = new SequenceSpool(context, dir, 1);
+        try {
+            // sustained overflow where exchanges are added and removed all the time
+            long next = 1;
+            for (long i = 1; i <= 100; i++) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getIn().setBody("msg" + i);
+                spool.add(i, exchange);
+                if (i % 10 == 0) {
+                    while (!spool.isEmpty() && spool.size() > 2) {
+                        assertEquals("msg" + next++, spool.removeFirst().getIn().getBody());
+                    }
+                }
+                assertTrue("The segments should be reclaimed", dir.list().length <= 11);
+            }
+            assertEquals(spool.size(), spool.getSegmentCount());
+            assertEquals(spool.size(), dir.list().length);
+        } finally {
+            spool.close();
+        }
+        assertEquals(0, dir.list().length);
+    }
+
+    public void testSpoolStreamBody() throws Exception {
+        SequenceSpool spool = new SequenceSpool(context, dir);
+        try {
+            Exchange exchange = new DefaultExchange(context, ExchangePattern.InOut);
+            exchange.setFromRouteId("foo");
+            exchange.setFromEndpoint(context.getEndpoint("direct:foo"));
+            exchange.getIn().setBody(new ByteArrayInputStream("Hello World".getBytes()));
+            spool.add(1, exchange);
+
+            Exchange answer = spool.removeFirst();
+            assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+            assertEquals(ExchangePattern.InOut, answer.getPattern());
+            assertEquals("foo", answer.getFromRouteId());
+            assertSame(context.getEndpoint("direct:foo"), answer.getFromEndpoint());
+            assertIsInstanceOf(StreamCache.class, answer.getIn().getBody());
+            assertEquals("Hello World", answer.getIn().getBody(String.class));
+        } finally {
+            spool.close();
+        }
+    }
+
+    public void testNotSerializableHeader() throws Exception {
+        SequenceSpool spool = new SequenceSpool(context, dir);
+        try {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody("Hello World");
+            exchange.getIn().setHeader("foo", new Object());
+            try {
+                spool.add(1, exchange);
+                fail("Should have thrown exception");
+            } catch (RuntimeExchangeException e) {
+                assertTrue(e.getMessage().startsWith("Cannot spool in header foo of type java.lang.Object"));
+            }
+            assertTrue(spool.isEmpty());
+        } finally {
+            spool.close();
+        }
+    }
+
+}
@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @version 
+ */
+public class HashedWheelTimeoutMapTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimeoutMapTest.class);
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Override
+    protected void tearDown() throws Exception {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testHashedWheelTimeoutMap() throws Exception {
+        HashedWheelTimeoutMap<?, ?> map = new HashedWheelTimeoutMap<Object, Object>(executor);
+        map.start();
+        assertTrue(map.currentTime() > 0);
+        assertEquals(1000, map.getPurgePollTime());
+        assertEquals(512, map.getWheelSize());
+
+        assertEquals(0, map.size());
+
+        map.stop();
+
+        // rounded up to a power of two
+        map = new HashedWheelTimeoutMap<Object, Object>(executor, 100, 100);
+        assertEquals(128, map.getWheelSize());
+    }
+
+    public void testHashedWheelTimeoutMapPurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    public void testHashedWheelTimeoutMapGetRemove() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        map.put("B", 456, 50);
+        assertEquals(2, map.size());
+        assertEquals(2, map.getKeys().length);
+
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertEquals(null, map.get("A"));
+        assertEquals(1, map.size());
+
+        map.stop();
+        assertEquals(0, map.size());
+    }
+
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        // do not start the map, so we control when to purge
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        // is not expired
+        map.put("F", 6, 800);
+        map.purge();
+
+        Thread.sleep(250);
+        map.purge();
+
+        assertEquals(4, keys.size());
+        assertEquals("D", keys.get(0));
+        assertEquals("B", keys.get(1));
+        assertEquals("C", keys.get(2));
+        assertEquals("A", keys.get(3));
+        assertEquals(1, map.size());
+    }
+
+    public void testExpiredNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                // do not evict special key
+                if ("gold".equals(key)) {
+                    return false;
+                }
+                keys.add(key);
+                return true;
+            }
+        };
+        map.put("A", 1, 50);
+        map.put("gold", 9, 60);
+
+        Thread.sleep(250);
+        map.purge();
+
+        assertEquals(1, keys.size());
+        assertEquals("A", keys.get(0));
+
+        // and keep the gold in the map, which is tried again on the next purge
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(9), map.get("gold"));
+    }
+
+    public void testReplacedAndExtendedNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key + "=" + value);
+                return true;
+            }
+        };
+        map.put("A", 1, 100);
+        map.put("B", 2, 100);
+        map.purge();
+
+        // replace A with a longer timeout
+        map.put("A", 3, 1000);
+
+        // keep B alive by getting it
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(50);
+            assertEquals(Integer.valueOf(2), map.get("B"));
+            map.purge();
+        }
+
+        assertTrue("Should not evict any entries: " + keys, keys.isEmpty());
+        assertEquals(2, map.size());
+
+        // now let B time out
+        Thread.sleep(250);
+        map.purge();
+        assertEquals(1, keys.size());
+        assertEquals("B=2", keys.get(0));
+        assertEquals(Integer.valueOf(3), map.get("A"));
+    }
+
+    public void testTimeoutLongerThanWheel() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        // the wheel only covers 4 x 20 millis
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 20, 4) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        map.put("A", 1, 300);
+        map.purge();
+
+        Thread.sleep(150);
+        map.purge();
+        assertTrue(keys.isEmpty());
+
+        Thread.sleep(300);
+        map.purge();
+        assertEquals(1, keys.size());
+        assertEquals(0, map.size());
+    }
+
+    public void testGetWhileEvicting() throws Exception {
+        final List<Object> values = new ArrayList<Object>();
+
+        final HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                // the entry is being evicted so it must not be taken using get, such as by a reply
+                values.add(get(key));
+                return !"gold".equals(key);
+            }
+        };
+        map.put("A", 1, 50);
+        map.put("gold", 9, 50);
+
+        Thread.sleep(150);
+        map.purge();
+
+        assertEquals(2, values.size());
+        assertNull(values.get(0));
+        assertNull(values.get(1));
+
+        // the gold is put back as it was not evicted
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(9), map.get("gold"));
+    }
+
+    public void testRemovedValueNotKept() throws Exception {
+        HashedWheelTimeoutMap<String, Object> map = new HashedWheelTimeoutMap<String, Object>(executor, 100);
+
+        Object value = new Object();
+        Object replaced = new Object();
+        WeakReference<Object> valueRef = new WeakReference<Object>(value);
+        WeakReference<Object> replacedRef = new WeakReference<Object>(replaced);
+
+        map.put("A", value, 60000);
+        map.put("B", replaced, 60000);
+        // place the entries in the wheel
+        map.purge();
+
+        assertSame(value, map.remove("A"));
+        map.put("B", "new", 60000);
+        value = null;
+        replaced = null;
+
+        // the entries are still in the wheel, but must not keep their value in memory
+        for (int i = 0; i < 50 && (valueRef.get() != null || replacedRef.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(valueRef.get());
+        assertNull(replacedRef.get());
+        assertEquals("new", map.get("B"));
+    }
+
+    public void testManyConcurrentEntries() throws Exception {
+        final int threads = 10;
+        final int entries = 10000;
+        final AtomicInteger evicted = new AtomicInteger();
+
+        final HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                evicted.incrementAndGet();
+                return true;
+            }
+        };
+        map.start();
+
+        // add 100k entries concurrently where each thread removes every other entry as if the reply was received
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            pool.submit(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < entries; i++) {
+                        String key = thread + "-" + i;
+                        map.put(key, i, 200);
+                        if (i % 2 == 0) {
+                            assertEquals(Integer.valueOf(i), map.get(key));
+                            map.remove(key);
+                        }
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        LOG.info("Added {} entries in {} millis", threads * entries, System.currentTimeMillis() - start);
+        pool.shutdownNow();
+
+        // the entries which was not removed should time out
+        long deadline = System.currentTimeMillis() + 10000;
+        while (map.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, map.size());
+        assertEquals(threads * entries / 2, evicted.get());
+
+        map.stop();
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.Map;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the {@link FastHeadersMap} with the {@link CaseInsensitiveMap} for
+ * the get, put and copy operations which the routing engine performs on headers.
+ */
+public class FastHeadersMapPerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FastHeadersMapPerformanceTest.class);
+    private static final String[] KEYS = {"CamelFileName", "JMSCorrelationID", "Content-Type", "CamelHttpMethod",
+        "breadcrumbId", "foo", "bar", "CamelRedelivered", "CamelRedeliveryCounter", "User-Agent"};
+
+    private final int times = 100000;
+
+    public void testManual() throws Exception {
+        // noop
+    }
+
+    public void disabledtestPerformance() throws Exception {
+        // warm up
+        run(new CaseInsensitiveMap(), 10000);
+        run(new FastHeadersMap(), 10000);
+
+        StopWatch watch = new StopWatch();
+        run(new CaseInsensitiveMap(), times);
+        LOG.info("CaseInsensitiveMap took {} ms", watch.taken());
+
+        watch.restart();
+        run(new FastHeadersMap(), times);
+        LOG.info("FastHeadersMap took {} ms", watch.taken());
+    }
+
+    private void run(Map<String, Object> prototype, int count) {
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> map = prototype instanceof FastHeadersMap ? new FastHeadersMap() : new CaseInsensitiveMap();
+            for (String key : KEYS) {
+                map.put(key, i);
+            }
+            // copy as multicast and splitter does, then mutate one header on the copy
+            Map<String, Object> copy;
+            if (map instanceof FastHeadersMap) {
+                copy = ((FastHeadersMap) map).copy();
+            } else {
+                copy = new CaseInsensitiveMap(map);
+            }
+            copy.put("foo", "changed");
+            for (String key : KEYS) {
+                assertNotNull(copy.get(key.toUpperCase()));
+                assertNotNull(map.get(key));
+            }
+        }
+    }
+}
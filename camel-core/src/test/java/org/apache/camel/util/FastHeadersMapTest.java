@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class FastHeadersMapTest extends TestCase {
+
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new FastHeadersMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOO"));
+        assertFalse(map.containsKey("bar"));
+        assertFalse(map.containsKey(null));
+        assertNull(map.get(null));
+    }
+
+    public void testOriginalKeyPreserved() {
+        Map<String, Object> map = new FastHeadersMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", "beer");
+
+        Map<String, Object> other = new HashMap<String, Object>(map);
+        assertEquals("cheese", other.get("Foo"));
+        assertEquals("beer", other.get("BAR"));
+        assertNull(other.get("foo"));
+
+        // last put wins
+        map.put("foo", "cake");
+        assertEquals(2, map.size());
+        other = new HashMap<String, Object>(map);
+        assertEquals("cake", other.get("foo"));
+        assertNull(other.get("Foo"));
+        assertEquals("cake", map.get("FOO"));
+    }
+
+    public void testPutManyAndRemove() {
+        Map<String, Object> map = new FastHeadersMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put("Key" + i, i);
+        }
+        assertEquals(1000, map.size());
+
+        // remove every other key which exercises shifting entries in the table
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove("KEY" + i));
+        }
+        assertEquals(500, map.size());
+
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get("key" + i));
+            } else {
+                assertEquals(i, map.get("key" + i));
+            }
+        }
+        assertNull(map.remove("unknown"));
+        assertNull(map.remove(null));
+    }
+
+    public void testNullValue() {
+        Map<String, Object> map = new FastHeadersMap();
+        map.put("foo", null);
+        assertTrue(map.containsKey("FOO"));
+        assertNull(map.get("foo"));
+        assertEquals(1, map.size());
+    }
+
+    public void testCopyOnWrite() {
+        FastHeadersMap map = new FastHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        FastHeadersMap copy = map.copy();
+        assertEquals(2, copy.size());
+        assertEquals("cheese", copy.get("FOO"));
+
+        copy.put("foo", "cake");
+        copy.put("baz", "wine");
+        copy.remove("bar");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("beer", map.get("bar"));
+        assertNull(map.get("baz"));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals("cake", copy.get("foo"));
+        assertEquals("wine", copy.get("baz"));
+        assertEquals(2, copy.size());
+    }
+
+    public void testPutAllShares() {
+        FastHeadersMap map = new FastHeadersMap();
+        map.put("foo", "cheese");
+
+        FastHeadersMap other = new FastHeadersMap();
+        other.putAll(map);
+        other.put("bar", "beer");
+        map.put("baz", "wine");
+
+        assertEquals(2, map.size());
+        assertNull(map.get("bar"));
+        assertEquals(2, other.size());
+        assertNull(other.get("baz"));
+    }
+
+    public void testRemoveWhileIterating() {
+        Map<String, Object> map = new FastHeadersMap();
+        for (int i = 0; i < 20; i++) {
+            map.put("Key" + i, i);
+        }
+
+        int count = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            map.remove(entry.getKey());
+            count++;
+        }
+        assertEquals(20, count);
+        assertTrue(map.isEmpty());
+    }
+
+    public void testIteratorRemoveAndSetValue() {
+        Map<String, Object> map = new FastHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("foo")) {
+                it.remove();
+            } else {
+                entry.setValue("wine");
+            }
+        }
+        assertEquals(1, map.size());
+        assertEquals("wine", map.get("BAR"));
+    }
+
+    public void testIteratorSnapshot() throws Exception {
+        FastHeadersMap map = new FastHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        it.next();
+        // mutating while iterating should not affect the iterator
+        map.put("baz", "wine");
+        map.remove("foo");
+        map.remove("bar");
+        assertTrue(it.hasNext());
+        it.next();
+        assertFalse(it.hasNext());
+        assertEquals(1, map.size());
+        assertEquals("wine", map.get("baz"));
+    }
+
+    public void testNoCopyAfterIterating() throws Exception {
+        FastHeadersMap map = new FastHeadersMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        int count = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            assertNotNull(entry.getValue());
+            count++;
+        }
+        assertEquals(2, count);
+
+        // the iteration is done so the table should not be copied when mutating
+        Object[] table = getTable(map);
+        map.put("baz", "wine");
+        map.remove("foo");
+        assertSame(table, getTable(map));
+        assertEquals(2, map.size());
+
+        // but it must be copied while iterating
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        map.put("foo", "cake");
+        assertNotSame(table, getTable(map));
+        table = getTable(map);
+        map.put("beer", "Carlsberg");
+        assertSame(table, getTable(map));
+        assertTrue(it.hasNext());
+    }
+
+    private static Object[] getTable(FastHeadersMap map) throws Exception {
+        Field field = FastHeadersMap.class.getDeclaredField("table");
+        field.setAccessible(true);
+        return (Object[]) field.get(map);
+    }
+
+    public void testSerialization() throws Exception {
+        FastHeadersMap map = new FastHeadersMap();
+        map.put("Foo", "cheese");
+        map.put("bar", 123);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bos);
+        out.writeObject(map);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) in.readObject();
+        assertEquals(map, copy);
+        assertEquals("cheese", copy.get("foo"));
+        copy.put("baz", "wine");
+        assertEquals(2, map.size());
+    }
+}
@@ -97,6 +97,16 @@ public class LRUCacheTest extends TestCase {
         assertEquals(10, cache.size());
     }
 
+    public void testLRUCachePutIfAbsent() {
+        MyService service1 = new MyService();
+        MyService service2 = new MyService();
+
+        assertNull(cache.putIfAbsent("A", service1));
+        assertSame(service1, cache.putIfAbsent("A", service2));
+        assertSame(service1, cache.get("A"));
+        assertEquals(1, cache.size());
+    }
+
     public void testLRUCacheHitsAndMisses() {
         MyService service1 = new MyService();
         MyService service2 = new MyService();
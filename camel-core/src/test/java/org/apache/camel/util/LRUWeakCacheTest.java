@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import org.apache.camel.TestSupport;
+
+/**
+ *
+ */
+public class LRUWeakCacheTest extends TestSupport {
+
+    public void testLRUWeakCachePutIfAbsent() throws Exception {
+        LRUWeakCache<Integer, Object> cache = new LRUWeakCache<Integer, Object>(1000);
+
+        String foo = "foo";
+        assertNull(cache.putIfAbsent(1, foo));
+        assertSame(foo, cache.putIfAbsent(1, "bar"));
+        assertSame(foo, cache.get(1));
+    }
+
+    public void testLRUWeakCachePutIfAbsentClearedReference() throws Exception {
+        LRUWeakCache<Integer, Object> cache = new LRUWeakCache<Integer, Object>(1000);
+
+        assertNull(cache.putIfAbsent(1, new Object()));
+        // the value is only weakly referenced so it can be garbage collected
+        for (int i = 0; i < 50 && cache.get(1) != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(cache.get(1));
+
+        // the key is absent so the new value must be stored
+        Object bar = new Object();
+        assertNull(cache.putIfAbsent(1, bar));
+        assertSame(bar, cache.get(1));
+        assertSame(bar, cache.putIfAbsent(1, new Object()));
+    }
+
+}
@@ -53,6 +53,12 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     @XmlAttribute
     private String spoolRules;
 
+    @XmlAttribute
+    private String offHeapMemoryLimit;
+
+    @XmlAttribute
+    private String spoolMemoryMapped;
+
     @XmlAttribute
     private String bufferSize;
 
@@ -121,6 +127,22 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.spoolRules = spoolRules;
     }
 
+    public String getOffHeapMemoryLimit() {
+        return offHeapMemoryLimit;
+    }
+
+    public void setOffHeapMemoryLimit(String offHeapMemoryLimit) {
+        this.offHeapMemoryLimit = offHeapMemoryLimit;
+    }
+
+    public String getSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    public void setSpoolMemoryMapped(String spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
     public String getBufferSize() {
         return bufferSize;
     }
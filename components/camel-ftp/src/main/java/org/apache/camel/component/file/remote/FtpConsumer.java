@@ -176,6 +176,12 @@ public class FtpConsumer extends RemoteFileConsumer<FTPFile> {
         return super.ignoreCannotRetrieveFile(name, exchange, cause);
     }
 
+    @Override
+    protected boolean isDownloadAheadSupported() {
+        // a custom ftp client would be shared by the download connections
+        return ((FtpEndpoint<?>) getEndpoint()).getFtpClient() == null && super.isDownloadAheadSupported();
+    }
+
     private RemoteFile<FTPFile> asRemoteFile(String absolutePath, FTPFile file) {
         RemoteFile<FTPFile> answer = new RemoteFile<FTPFile>();
 
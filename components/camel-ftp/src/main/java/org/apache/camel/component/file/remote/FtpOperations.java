@@ -57,6 +57,8 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
     protected final FTPClient client;
     protected final FTPClientConfig clientConfig;
     protected RemoteFileEndpoint<FTPFile> endpoint;
+    // the absolute working directory if known, to avoid asking the server and changing to the same directory
+    private String workingDirectory;
 
     public FtpOperations(FTPClient client, FTPClientConfig clientConfig) {
         this.client = client;
@@ -69,6 +71,7 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
 
     public boolean connect(RemoteFileConfiguration configuration) throws GenericFileOperationFailedException {
         log.trace("Connecting using FTPClient: {}", client);
+        workingDirectory = null;
 
         String host = configuration.getHost();
         int port = configuration.getPort();
@@ -195,6 +198,7 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
     }
 
     public void disconnect() throws GenericFileOperationFailedException {
+        workingDirectory = null;
         // logout before disconnecting
         try {
             log.trace("Client logout");
@@ -264,6 +268,8 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
 
         log.trace("buildDirectory({})", directory);
         try {
+            // we change directory directly on the client
+            workingDirectory = null;
             String originalDirectory = client.printWorkingDirectory();
 
             boolean success;
@@ -693,9 +699,16 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
 
     public String getCurrentDirectory() throws GenericFileOperationFailedException {
         log.trace("getCurrentDirectory()");
+        if (workingDirectory != null) {
+            log.trace("Current dir: {}", workingDirectory);
+            return workingDirectory;
+        }
         try {
             String answer = client.printWorkingDirectory();
             log.trace("Current dir: {}", answer);
+            if (FileUtil.hasLeadingSeparator(answer)) {
+                workingDirectory = answer;
+            }
             return answer;
         } catch (IOException e) {
             throw new GenericFileOperationFailedException(client.getReplyCode(), client.getReplyString(), e.getMessage(), e);
@@ -712,6 +725,19 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
         // use the ftp utils implementation of the compact path
         path = FtpUtils.compactPath(path);
 
+        if (path.equals(workingDirectory)) {
+            log.trace("Already in directory: {}", path);
+            return;
+        }
+        // the working directory is unknown until we have changed successfully
+        workingDirectory = null;
+        doChangeCurrentDirectory(path);
+        if (FileUtil.hasLeadingSeparator(path)) {
+            workingDirectory = path;
+        }
+    }
+
+    private void doChangeCurrentDirectory(String path) {
         // not stepwise should change directory in one operation
         if (!endpoint.getConfiguration().isStepwise()) {
             doChangeDirectory(path);
@@ -763,6 +789,7 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
     }
 
     public void changeToParentDirectory() throws GenericFileOperationFailedException {
+        workingDirectory = null;
         try {
             client.changeToParentDirectory();
         } catch (IOException e) {
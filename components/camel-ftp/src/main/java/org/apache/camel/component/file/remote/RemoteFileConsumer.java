@@ -16,12 +16,26 @@
  */
 package org.apache.camel.component.file.remote;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.component.file.FileComponent;
+import org.apache.camel.component.file.GenericFile;
 import org.apache.camel.component.file.GenericFileConsumer;
 import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.util.FileUtil;
 
 /**
  * Base class for remote file consumers.
@@ -30,6 +44,14 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     protected boolean loggedIn;
     protected boolean loggedInWarning;
 
+    // download ahead using a pool of additional connections
+    private ExecutorService downloadExecutor;
+    private final LinkedBlockingQueue<RemoteFileOperations<T>> idleConnections = new LinkedBlockingQueue<RemoteFileOperations<T>>();
+    private Queue<Object> batch;
+    private Map<Exchange, Future<Boolean>> downloads;
+    private AtomicBoolean downloadsCancelled;
+    private int downloadBudget;
+
     public RemoteFileConsumer(RemoteFileEndpoint<T> endpoint, Processor processor, RemoteFileOperations<T> operations) {
         super(endpoint, processor, operations);
         this.setPollStrategy(new RemoteFilePollingConsumerPollStrategy());
@@ -104,10 +126,191 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         return getEndpoint().isDownload();
     }
 
+    @Override
+    public int processBatch(Queue<Object> exchanges) {
+        if (downloadExecutor == null || customProcessor != null || !isDownloadAheadSupported()) {
+            return super.processBatch(exchanges);
+        }
+
+        batch = exchanges;
+        downloads = new HashMap<Exchange, Future<Boolean>>();
+        downloadsCancelled = new AtomicBoolean();
+        int max = getMaxMessagesPerPoll();
+        downloadBudget = max > 0 ? Math.min(max, exchanges.size()) : exchanges.size();
+        try {
+            downloadAhead();
+            return super.processBatch(exchanges);
+        } finally {
+            // cancel downloads of files which was not processed, such as when stopping
+            cancelDownloads();
+            batch = null;
+            downloads = null;
+            downloadsCancelled = null;
+            if (getEndpoint().isDisconnect() || isStoppingOrStopped()) {
+                disconnectDownloadConnections();
+            }
+        }
+    }
+
+    /**
+     * Cancels the downloads of the files which was not processed. The downloads which has already started
+     * cannot be interrupted, so we wait for them to complete, before deleting the local work files
+     * of the files which was downloaded but not processed.
+     */
+    private void cancelDownloads() {
+        downloadsCancelled.set(true);
+        for (Map.Entry<Exchange, Future<Boolean>> entry : downloads.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (InterruptedException e) {
+                // do not wait for the remaining downloads
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.trace("Download ahead of file not processed failed. This exception will be ignored.", e);
+            }
+
+            Exchange exchange = entry.getKey();
+            File local = exchange.getIn().getHeader(Exchange.FILE_LOCAL_WORK_PATH, File.class);
+            if (local != null && local.exists()) {
+                boolean deleted = FileUtil.deleteFile(local);
+                log.trace("Local work file: {} of file not processed was deleted: {}", local, deleted);
+            }
+        }
+    }
+
+    @Override
+    protected boolean retrieveFile(String name, Exchange exchange) throws Exception {
+        Future<Boolean> future = downloads != null ? downloads.remove(exchange) : null;
+        if (future == null) {
+            return super.retrieveFile(name, exchange);
+        }
+
+        // keep the download connections busy while we wait for this file
+        downloadAhead();
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new GenericFileOperationFailedException("Error downloading file: " + name, cause);
+        }
+    }
+
+    /**
+     * Whether files can be downloaded ahead of being routed, using the <tt>downloadConnections</tt> option.
+     * <p/>
+     * This is not supported if the file must be locked, moved or otherwise be acted upon before its downloaded.
+     */
+    protected boolean isDownloadAheadSupported() {
+        RemoteFileEndpoint<T> endpoint = getEndpoint();
+        if (!isRetrieveFile() || endpoint.getConfiguration().isStreamDownload()) {
+            return false;
+        }
+        if (endpoint.getPreMove() != null || endpoint.getProcessStrategy() != null || endpoint.getExclusiveReadLockStrategy() != null) {
+            return false;
+        }
+        String readLock = endpoint.getReadLock();
+        return readLock == null || "none".equals(readLock) || "false".equals(readLock);
+    }
+
+    private void downloadAhead() {
+        // only submit as many downloads as we have connections, so the files are downloaded in the order they are routed
+        Iterator<Object> it = batch.iterator();
+        for (int i = 0; i < getEndpoint().getDownloadConnections() && downloadBudget > 0 && it.hasNext(); i++) {
+            final Exchange exchange = (Exchange) it.next();
+            if (downloads.containsKey(exchange)) {
+                continue;
+            }
+            downloadBudget--;
+            GenericFile<?> file = (GenericFile<?>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
+            final String name = file.getAbsoluteFilePath();
+            log.trace("Downloading ahead file: {}", name);
+            final AtomicBoolean cancelled = downloadsCancelled;
+            Future<Boolean> future = downloadExecutor.submit(new Callable<Boolean>() {
+                public Boolean call() throws Exception {
+                    if (cancelled.get()) {
+                        // the file will not be processed so do not download it
+                        return false;
+                    }
+                    return download(name, exchange);
+                }
+            });
+            downloads.put(exchange, future);
+        }
+    }
+
+    private boolean download(String name, Exchange exchange) throws Exception {
+        RemoteFileOperations<T> connection = idleConnections.poll();
+        if (connection == null) {
+            connection = getEndpoint().createRemoteFileOperations();
+            log.debug("Creating download connection to: {}", remoteServer());
+            if (!connection.connect(getEndpoint().getConfiguration())) {
+                throw new GenericFileOperationFailedException("Cannot connect/login to: " + remoteServer());
+            }
+        }
+
+        boolean answer;
+        try {
+            answer = connection.retrieveFile(name, exchange);
+        } catch (Exception e) {
+            // do not reuse the connection as it may be in an unknown state
+            disconnectQuietly(connection);
+            throw e;
+        }
+        idleConnections.offer(connection);
+        if (isStoppingOrStopped()) {
+            // the connections may already have been disconnected when stopping, so disconnect this one as well
+            disconnectDownloadConnections();
+        }
+        return answer;
+    }
+
+    private void disconnectDownloadConnections() {
+        RemoteFileOperations<T> connection;
+        while ((connection = idleConnections.poll()) != null) {
+            disconnectQuietly(connection);
+        }
+    }
+
+    private void disconnectQuietly(RemoteFileOperations<T> connection) {
+        try {
+            if (connection.isConnected()) {
+                connection.disconnect();
+            }
+        } catch (GenericFileOperationFailedException e) {
+            log.debug("Error occurred while disconnecting download connection from " + remoteServer() + ". This exception will be ignored.", e);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        int connections = getEndpoint().getDownloadConnections();
+        if (connections > 0) {
+            if (isDownloadAheadSupported()) {
+                downloadExecutor = getEndpoint().getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "RemoteFileDownload", connections);
+            } else {
+                log.info("Option downloadConnections={} is not in use as download ahead is not supported with the configured options of: {}", connections, getEndpoint());
+            }
+        }
+    }
+
     @Override
     protected void doStop() throws Exception {
         super.doStop();
         disconnect();
+        disconnectDownloadConnections();
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        super.doShutdown();
+        if (downloadExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(downloadExecutor);
+            downloadExecutor = null;
+        }
     }
 
     protected void disconnect() {
@@ -44,6 +44,8 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
     private boolean fastExistsCheck;
     @UriParam
     private boolean download = true;
+    @UriParam
+    private int downloadConnections;
 
     public RemoteFileEndpoint() {
         // no args constructor for spring bean endpoint configuration
@@ -218,4 +220,18 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
     public void setDownload(boolean download) {
         this.download = download;
     }
+
+    public int getDownloadConnections() {
+        return downloadConnections;
+    }
+
+    /**
+     * Number of additional connections to use for downloading files ahead of the file being routed,
+     * while the files are still routed one at a time in the order they were polled.
+     * <p/>
+     * Is default <tt>0</tt> which means the files are downloaded using the connection of the consumer.
+     */
+    public void setDownloadConnections(int downloadConnections) {
+        this.downloadConnections = downloadConnections;
+    }
 }
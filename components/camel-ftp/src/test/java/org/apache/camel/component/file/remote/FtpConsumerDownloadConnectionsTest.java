@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.io.File;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @version 
+ */
+public class FtpConsumerDownloadConnectionsTest extends FtpServerTestSupport {
+
+    private String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/download/?password=admin&delete=true&sortBy=file:name&downloadConnections=3";
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        prepareFtpServer();
+    }
+
+    @Test
+    public void testDownloadConnections() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello A", "Hello B", "Hello C", "Hello D", "Hello E", "Hello F", "Hello G");
+
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the files should be deleted after being routed
+        Thread.sleep(500);
+        assertEquals(0, new File(FTP_ROOT_DIR + "/download").list().length);
+    }
+
+    private void prepareFtpServer() throws Exception {
+        for (char c = 'A'; c <= 'G'; c++) {
+            sendFile(getFtpUrl(), "Hello " + c, c + ".txt");
+        }
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(getFtpUrl()).noAutoStartup().routeId("foo").convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
@@ -16,8 +16,19 @@
  */
 package org.apache.camel.component.mina2;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.camel.util.IOHelper;
+import org.apache.mina.core.file.DefaultFileRegion;
+import org.apache.mina.core.file.FileRegion;
+import org.apache.mina.core.future.IoFutureListener;
 import org.apache.mina.core.future.WriteFuture;
 import org.apache.mina.core.session.IoSession;
 import org.slf4j.Logger;
@@ -34,9 +45,42 @@ public final class Mina2Helper {
         //Utility Class
     }
 
+    /**
+     * Gets a {@link FileRegion} for the body if the body is file based, such as a {@link File}, a file consumed
+     * by the file or ftp components, or a stream cached to a file.
+     * <p/>
+     * Writing a file region to the session transfers the file using zero copy, so the content is not read into memory.
+     * This is only possible when the session has no codec or filters which needs the content.
+     * The file channel of the region is closed by {@link #writeBody(IoSession, Object, Exchange)} when the region
+     * has been written.
+     *
+     * @param body      the current body
+     * @param exchange  the exchange
+     * @return the file region, or <tt>null</tt> if the body is not file based
+     * @throws IOException is thrown if the file could not be opened
+     */
+    public static FileRegion getFileRegion(Object body, Exchange exchange) throws IOException {
+        File file = null;
+        if (body instanceof FileInputStreamCache) {
+            file = ((FileInputStreamCache) body).getFile();
+        } else if (body instanceof File || body instanceof WrappedFile) {
+            file = exchange.getContext().getTypeConverter().convertTo(File.class, exchange, body);
+        }
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        LOG.trace("Using FileRegion to write file: {}", file);
+        FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+        return new DefaultFileRegion(channel, 0, channel.size());
+    }
+
     /**
      * Asynchronously writes the given body to MINA session. Will wait at most for
      * 10 seconds until the body has been written.
+     * <p/>
+     * A {@link FileRegion} body is closed when it has been written, and we wait for as long as
+     * the file is being transferred, but at most 10 seconds without any progress.
      *
      * @param session  the MINA session
      * @param body     the body to write (send)
@@ -45,12 +89,39 @@ public final class Mina2Helper {
      *                                (eg remote connection is closed etc.)
      */
     public static void writeBody(IoSession session, Object body, Exchange exchange) throws CamelExchangeException {
+        FileRegion region = body instanceof FileRegion ? (FileRegion) body : null;
         // the write operation is asynchronous. Use WriteFuture to wait until the session has been written
-        WriteFuture future = session.write(body);
+        WriteFuture future;
+        try {
+            future = session.write(body);
+        } catch (RuntimeException e) {
+            if (region != null) {
+                IOHelper.close(region.getFileChannel());
+            }
+            throw e;
+        }
+        if (region != null) {
+            // the file must be kept open until MINA is done writing it, which may be after we give up waiting
+            final FileChannel channel = region.getFileChannel();
+            future.addListener(new IoFutureListener<WriteFuture>() {
+                public void operationComplete(WriteFuture future) {
+                    IOHelper.close(channel);
+                }
+            });
+        }
         // must use a timeout (we use 10s) as in some very high performance scenarios a write can cause 
         // thread hanging forever
         LOG.trace("Waiting for write to complete for body: {} using session: {}", body, session);
-        if (!future.awaitUninterruptibly(10000L)) {
+        boolean done = future.awaitUninterruptibly(10000L);
+        if (region != null) {
+            // keep waiting while the file is being transferred
+            long written = 0;
+            while (!done && region.getWrittenBytes() > written) {
+                written = region.getWrittenBytes();
+                done = future.awaitUninterruptibly(10000L);
+            }
+        }
+        if (!done) {
             String message = "Cannot write body: " + body + " using session: " + session;
             if (future.getException() != null) {
                 throw new CamelExchangeException(message, exchange, future.getException());
@@ -32,6 +32,7 @@ import org.apache.camel.converter.IOConverter;
 import org.apache.camel.impl.DefaultProducer;
 import org.apache.camel.util.CamelLogger;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.mina.core.file.FileRegion;
 import org.apache.mina.core.filterchain.DefaultIoFilterChainBuilder;
 import org.apache.mina.core.filterchain.IoFilter;
 import org.apache.mina.core.future.CloseFuture;
@@ -159,6 +160,13 @@ public class Mina2Producer extends DefaultProducer implements ServicePoolAware {
             }
             LOG.debug("Writing body: {}", out);
         }
+        if (!getEndpoint().getConfiguration().isTextline() && isFileRegionSupported()) {
+            // send files using zero copy if possible, which is closed when written
+            FileRegion region = Mina2Helper.getFileRegion(body, exchange);
+            if (region != null) {
+                body = region;
+            }
+        }
         // write the body
         Mina2Helper.writeBody(session, body, exchange);
 
@@ -267,6 +275,16 @@ public class Mina2Producer extends DefaultProducer implements ServicePoolAware {
 
     // Implementation methods
     //-------------------------------------------------------------------------
+    /**
+     * Whether bodies can be sent as a {@link FileRegion}, which requires TCP and that there is
+     * no codec, filters or SSL which needs the content.
+     */
+    protected boolean isFileRegionSupported() {
+        return "tcp".equals(configuration.getProtocol()) && configuration.getCodec() == null && !configuration.isAllowDefaultCodec()
+                && (configuration.getFilters() == null || configuration.getFilters().isEmpty())
+                && configuration.getSslContextParameters() == null;
+    }
+
     protected void setupVmProtocol(String uri) {
         boolean minaLogger = configuration.isMinaLogger();
         List<IoFilter> filters = configuration.getFilters();
@@ -16,13 +16,21 @@
  */
 package org.apache.camel.component.netty;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.net.SocketAddress;
+import java.nio.channels.FileChannel;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.FileInputStreamCache;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
+import org.jboss.netty.channel.DefaultFileRegion;
+import org.jboss.netty.channel.FileRegion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +81,35 @@ public final class NettyHelper {
         return s;
     }
 
+    /**
+     * Gets a {@link FileRegion} for the body if the body is file based, such as a {@link File}, a file consumed
+     * by the file or ftp components, or a stream cached to a file.
+     * <p/>
+     * Writing a file region to the channel transfers the file using zero copy, so the content is not read into memory.
+     * This is only possible when the channel has no encoders which needs the content.
+     *
+     * @param body      the current body
+     * @param exchange  the exchange
+     * @return the file region, or <tt>null</tt> if the body is not file based
+     * @throws IOException is thrown if the file could not be opened
+     */
+    public static FileRegion getFileRegion(Object body, Exchange exchange) throws IOException {
+        File file = null;
+        if (body instanceof FileInputStreamCache) {
+            file = ((FileInputStreamCache) body).getFile();
+        } else if (body instanceof File || body instanceof WrappedFile) {
+            file = exchange.getContext().getTypeConverter().convertTo(File.class, exchange, body);
+        }
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        LOG.trace("Using FileRegion to write file: {}", file);
+        FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+        // let netty close the file channel when the file has been written
+        return new DefaultFileRegion(channel, 0, channel.size(), true);
+    }
+
     /**
      * Writes the given body to Netty channel. Will <b>not</b >wait until the body has been written.
      *
@@ -42,6 +42,7 @@ import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
+import org.jboss.netty.channel.FileRegion;
 import org.jboss.netty.channel.group.ChannelGroup;
 import org.jboss.netty.channel.group.ChannelGroupFuture;
 import org.jboss.netty.channel.group.DefaultChannelGroup;
@@ -234,6 +235,23 @@ public class NettyProducer extends DefaultAsyncProducer {
         final Channel channel = existing;
         final AsyncCallback producerCallback = new NettyProducerCallback(channel, callback);
 
+        // send files using zero copy if possible, which we open only when we have a channel
+        // to write to, so the file is not left open if we could not get a channel
+        FileRegion region = null;
+        if (isFileRegionSupported()) {
+            try {
+                region = NettyHelper.getFileRegion(body, exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+                producerCallback.done(true);
+                return true;
+            }
+            if (region != null) {
+                body = region;
+            }
+        }
+        final FileRegion fileRegion = region;
+
         // setup state as attachment on the channel, so we can access the state later when needed
         channel.setAttachment(new NettyCamelState(producerCallback, exchange));
 
@@ -242,6 +260,10 @@ public class NettyProducer extends DefaultAsyncProducer {
             public void operationComplete(ChannelFuture channelFuture) throws Exception {
                 LOG.trace("Operation complete {}", channelFuture);
                 if (!channelFuture.isSuccess()) {
+                    if (fileRegion != null) {
+                        // the region is only released by netty when it has been transferred
+                        fileRegion.releaseExternalResources();
+                    }
                     // no success the set the caused exception and signal callback and break
                     exchange.setException(channelFuture.getCause());
                     producerCallback.done(false);
@@ -303,6 +325,15 @@ public class NettyProducer extends DefaultAsyncProducer {
         return body;
     }
 
+    /**
+     * Whether bodies can be sent as a {@link FileRegion}, which requires TCP and that there is
+     * no encoders or SSL in the default pipeline which needs the content.
+     */
+    protected boolean isFileRegionSupported() {
+        return isTcp() && configuration.getClientPipelineFactory() == null && configuration.getEncoders().isEmpty()
+                && !configuration.isSsl() && configuration.getSslHandler() == null && configuration.getSslContextParameters() == null;
+    }
+
     /**
      * To get the {@link NettyCamelState} from the given channel.
      */
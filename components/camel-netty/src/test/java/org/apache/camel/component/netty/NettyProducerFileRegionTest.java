@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.IOHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NettyProducerFileRegionTest extends BaseNettyTest {
+
+    private String uri = "netty:tcp://localhost:{{port}}?disconnect=true&sync=false&allowDefaultCodec=false";
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/fileregion");
+        createDirectory("target/fileregion");
+        super.setUp();
+    }
+
+    @Test
+    public void testSendFile() throws Exception {
+        File file = new File("target/fileregion/hello.txt");
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write("Hello World".getBytes());
+        } finally {
+            IOHelper.close(fos);
+        }
+
+        getMockEndpoint("mock:input").expectedBodiesReceived("Hello World");
+
+        template.sendBody(uri, file);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(uri).convertBodyTo(String.class).to("mock:input");
+            }
+        };
+    }
+}